@@ -0,0 +1,34 @@
+package com.nbu.medicalrecord.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report aggregates computed from the base tables, as they were before the counter tables:
+ * the baseline the counter-backed reports are measured against. Not used by the application.
+ */
+final class BaselineReportQueries {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    BaselineReportQueries(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    List<Map<String, Object>> examinationsByDoctor() {
+        return jdbcTemplate.queryForList("SELECT doctor_id, COUNT(*) FROM examinations GROUP BY doctor_id");
+    }
+
+    List<Map<String, Object>> sickLeavesByDoctor() {
+        return jdbcTemplate.queryForList("SELECT e.doctor_id, COUNT(*) FROM sick_leaves sl " +
+                "JOIN examinations e ON e.id = sl.examination_id GROUP BY e.doctor_id");
+    }
+
+    // Grouped on MONTH()/YEAR() of the start date, which no index can serve
+    List<Map<String, Object>> sickLeavesByMonth() {
+        return jdbcTemplate.queryForList("SELECT YEAR(start_date), MONTH(start_date), COUNT(*), SUM(number_of_days) " +
+                "FROM sick_leaves GROUP BY YEAR(start_date), MONTH(start_date)");
+    }
+}
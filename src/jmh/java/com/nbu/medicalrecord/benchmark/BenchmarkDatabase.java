@@ -0,0 +1,48 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.nbu.medicalrecord.MedicalRecordApplication;
+import com.nbu.medicalrecord.config.SyntheticDataGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Application context on an in-memory H2 database filled by SyntheticDataGenerator with the given number of examinations.
+ * One context per trial, shared by all benchmark threads.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(MedicalRecordApplication.class)
+                .web(WebApplicationType.NONE)
+                // command-line arguments, so they take precedence over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark-" + rows + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.com.nbu.medicalrecord=WARN");
+        context.getBean(SyntheticDataGenerator.class).generate(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public JdbcTemplate jdbc() {
+        return context.getBean(JdbcTemplate.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.nbu.medicalrecord.dto.DiagnosisDto;
+import com.nbu.medicalrecord.entity.Diagnosis;
+import com.nbu.medicalrecord.repository.EntityIdAllocator;
+import com.nbu.medicalrecord.search.DiagnosisSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DiagnosisSearchIndex over a catalogue the size of ICD-10 (about 70k codes), against the LIKE '%x%' scan it replaces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DiagnosisSearchBenchmark {
+
+    private static final int CATALOGUE_SIZE = 70_000;
+    private static final String[] CONDITIONS = {"инфекция", "възпаление", "травма", "фрактура", "новообразувание",
+            "недостатъчност", "кръвоизлив", "дегенерация", "алергия", "интоксикация"};
+    private static final String[] SITES = {"на горните дихателни пътища", "на бъбрека", "на черния дроб",
+            "на коляното", "на гръбначния стълб", "на кожата", "на ухото", "на окото", "на сърцето", "на стомаха"};
+    private static final String[] QUALIFIERS = {"остра", "хронична", "неуточнена", "вродена", "рецидивираща",
+            "двустранна", "лява", "дясна", "вторична", "първична"};
+
+    private DiagnosisSearchIndex index;
+    private BenchmarkDatabase database;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        this.database = database;
+        long[] ids = database.bean(EntityIdAllocator.class).allocate(Diagnosis.class, CATALOGUE_SIZE);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < CATALOGUE_SIZE; i++) {
+            String code = String.format("%c%02d.%d%d", (char) ('A' + i % 26), (i / 26) % 100, (i / 2600) % 10, i / 26000);
+            String name = QUALIFIERS[i % 10] + " " + CONDITIONS[(i / 10) % 10] + " " + SITES[(i / 100) % 10] + " " + i;
+            batch.add(new Object[]{ids[i], code, name});
+        }
+        database.jdbc().batchUpdate("INSERT INTO diagnoses (id, code, name) VALUES (?, ?, ?)", batch);
+        index = database.bean(DiagnosisSearchIndex.class);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public List<DiagnosisDto.Response> wordPrefix() {
+        return index.search("хрон бъб", 20);
+    }
+
+    @Benchmark
+    public List<DiagnosisDto.Response> codePrefix() {
+        return index.search("J4", 20);
+    }
+
+    @Benchmark
+    public List<DiagnosisDto.Response> typo() {
+        return index.search("кръвоизлав", 20);
+    }
+
+    // The replaced repository query, for comparison
+    @Benchmark
+    public List<Long> likeScan() {
+        return database.jdbc().queryForList("SELECT id FROM diagnoses WHERE LOWER(name) LIKE ? LIMIT 20",
+                Long.class, "%бъб%");
+    }
+}
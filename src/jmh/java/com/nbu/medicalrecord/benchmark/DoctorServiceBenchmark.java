@@ -0,0 +1,48 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.nbu.medicalrecord.dto.DoctorDto;
+import com.nbu.medicalrecord.dto.ReportDto;
+import com.nbu.medicalrecord.service.DoctorService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DoctorServiceImpl mapping (toResponse over all doctors) and the counter-backed doctor reports.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DoctorServiceBenchmark {
+
+    private DoctorService doctorService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        doctorService = database.bean(DoctorService.class);
+    }
+
+    @Benchmark
+    public List<DoctorDto.Response> getAll() {
+        return doctorService.getAll();
+    }
+
+    @Benchmark
+    public List<ReportDto.DoctorPatientCount> patientCountPerGp() {
+        return doctorService.getPatientCountPerGp();
+    }
+
+    @Benchmark
+    public List<ReportDto.DoctorExaminationCount> examinationCountPerDoctor() {
+        return doctorService.getExaminationCountPerDoctor();
+    }
+
+    @Benchmark
+    public List<ReportDto.DoctorSickLeaveCount> doctorsWithMostSickLeaves() {
+        return doctorService.getDoctorsWithMostSickLeaves();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.entity.Patient;
+import com.nbu.medicalrecord.service.ExaminationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flush cost with many managed entities, and the examination update write path end to end.
+ * The flush benchmark keeps one open transaction for the whole trial and rolls it back at the end.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EntityFlushBenchmark {
+
+    private static final int MANAGED_PATIENTS = 1_000;
+
+    private EntityManager entityManager;
+    private Patient dirtied;
+    private int flushes;
+    private ExaminationService examinationService;
+    private Long examinationId;
+    private ExaminationDto.Request examinationUpdate;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        examinationService = database.bean(ExaminationService.class);
+        examinationId = database.jdbc().queryForObject("SELECT MAX(id) FROM examinations", Long.class);
+
+        ExaminationDto.Response examination = examinationService.getById(examinationId);
+        examinationUpdate = ExaminationDto.Request.builder()
+                .examinationDate(examination.getExaminationDate())
+                .patientId(examination.getPatient().getId())
+                .doctorId(examination.getDoctor().getId())
+                .diagnosisId(examination.getDiagnosis() != null ? examination.getDiagnosis().getId() : null)
+                .treatment(examination.getTreatment())
+                .prescription(examination.getPrescription())
+                .build();
+
+        entityManager = database.bean(EntityManagerFactory.class).createEntityManager();
+        entityManager.getTransaction().begin();
+        List<Patient> patients = entityManager.createQuery("SELECT p FROM Patient p ORDER BY p.id", Patient.class)
+                .setMaxResults(MANAGED_PATIENTS)
+                .getResultList();
+        dirtied = patients.get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.getTransaction().rollback();
+        entityManager.close();
+    }
+
+    // Dirty check alone: nothing changed, so no statement is issued
+    @Benchmark
+    public int flushClean() {
+        entityManager.flush();
+        return flushes;
+    }
+
+    // One dirty entity among MANAGED_PATIENTS managed patients (and their GPs and users)
+    @Benchmark
+    public int flushManagedPatients() {
+        dirtied.setLastInsurancePayment(dirtied.getLastInsurancePayment().plusDays(++flushes % 2 == 0 ? -1 : 1));
+        entityManager.flush();
+        return flushes;
+    }
+
+    @Benchmark
+    public ExaminationDto.Response updateExamination() {
+        return examinationService.update(examinationId, examinationUpdate);
+    }
+}
@@ -0,0 +1,78 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.dto.SickLeaveDto;
+import com.nbu.medicalrecord.service.ExaminationImportService;
+import com.nbu.medicalrecord.service.ExaminationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting 1000 examinations (one in five with a sick leave): one create() per row
+ * against a single bulk NDJSON import.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ExaminationImportBenchmark {
+
+    private static final int BATCH = 1_000;
+
+    private ExaminationService examinationService;
+    private ExaminationImportService examinationImportService;
+    private List<ExaminationDto.Request> requests;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) throws Exception {
+        examinationService = database.bean(ExaminationService.class);
+        examinationImportService = database.bean(ExaminationImportService.class);
+        List<Long> patientIds = database.jdbc().queryForList("SELECT id FROM patients ORDER BY id", Long.class);
+        List<Long> doctorIds = database.jdbc().queryForList("SELECT id FROM doctors ORDER BY id", Long.class);
+        List<Long> diagnosisIds = database.jdbc().queryForList("SELECT id FROM diagnoses ORDER BY id", Long.class);
+
+        requests = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            requests.add(ExaminationDto.Request.builder()
+                    .examinationDate(LocalDate.now())
+                    .patientId(patientIds.get(i % patientIds.size()))
+                    .doctorId(doctorIds.get(i % doctorIds.size()))
+                    .diagnosisId(diagnosisIds.get(i % diagnosisIds.size()))
+                    .treatment("Почивка и обилни течности")
+                    .sickLeave(i % 5 == 0 ? SickLeaveDto.Request.builder().startDate(LocalDate.now()).numberOfDays(3).build() : null)
+                    .build());
+        }
+
+        ObjectMapper objectMapper = database.bean(ObjectMapper.class);
+        StringBuilder body = new StringBuilder();
+        for (ExaminationDto.Request request : requests) {
+            body.append(objectMapper.writeValueAsString(request)).append('\n');
+        }
+        ndjson = body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int singleCreates() {
+        int created = 0;
+        for (ExaminationDto.Request request : requests) {
+            examinationService.create(request);
+            created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public ExaminationDto.BulkResult bulkImport() {
+        return examinationImportService.importNdjson(new ByteArrayInputStream(ndjson));
+    }
+}
@@ -0,0 +1,56 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.repository.ExaminationRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Whole-table examination reads: how many rows per second the list and export queries get through.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ExaminationScanBenchmark {
+
+    private ExaminationRepository examinationRepository;
+    private TransactionTemplate readOnly;
+    private BaselineReportQueries baselineQueries;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        examinationRepository = database.bean(ExaminationRepository.class);
+        readOnly = new TransactionTemplate(database.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        baselineQueries = new BaselineReportQueries(database.jdbc());
+    }
+
+    @Benchmark
+    public List<ExaminationDto.Row> allRows() {
+        return readOnly.execute(status -> examinationRepository.findAllRows());
+    }
+
+    // Export path: forward-only stream in patient order
+    @Benchmark
+    public Long streamAll() {
+        return readOnly.execute(status -> {
+            try (Stream<ExaminationDto.Row> rows = examinationRepository.streamAllOrderByPatient()) {
+                return rows.count();
+            }
+        });
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> countByDoctor() {
+        return readOnly.execute(status -> baselineQueries.examinationsByDoctor());
+    }
+}
@@ -0,0 +1,47 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.nbu.medicalrecord.dto.CursorPage;
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.dto.ReportDto;
+import com.nbu.medicalrecord.service.ExaminationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExaminationServiceImpl read paths: row and entity mapping (toResponse) and the grouped-by-patient report.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ExaminationServiceBenchmark {
+
+    private ExaminationService examinationService;
+    private Long examinationId;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        examinationService = database.bean(ExaminationService.class);
+        examinationId = database.jdbc().queryForObject("SELECT MAX(id) FROM examinations", Long.class);
+    }
+
+    // Projection rows mapped through toResponse(Row)
+    @Benchmark
+    public CursorPage<ExaminationDto.Response> firstPage() {
+        return examinationService.getPage(null, 100);
+    }
+
+    // Entity graph load mapped through toResponse(Examination)
+    @Benchmark
+    public ExaminationDto.Response byId() {
+        return examinationService.getById(examinationId);
+    }
+
+    @Benchmark
+    public CursorPage<ReportDto.PatientExaminations> groupedByPatient() {
+        return examinationService.getExaminationsGroupedByPatient(null, 100);
+    }
+}
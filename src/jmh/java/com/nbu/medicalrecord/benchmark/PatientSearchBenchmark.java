@@ -0,0 +1,52 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.nbu.medicalrecord.dto.PatientDto;
+import com.nbu.medicalrecord.search.PatientSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PatientSearchIndex typeahead over the generated patients (one per eight examinations),
+ * against the name prefix query it replaces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PatientSearchBenchmark {
+
+    private PatientSearchIndex index;
+    private BenchmarkDatabase database;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        this.database = database;
+        index = database.bean(PatientSearchIndex.class);
+    }
+
+    @Benchmark
+    public List<PatientDto.Summary> namePrefix() {
+        return index.search("иван пет", 10);
+    }
+
+    @Benchmark
+    public List<PatientDto.Summary> latinPrefix() {
+        return index.search("hristo sto", 10);
+    }
+
+    @Benchmark
+    public List<PatientDto.Summary> egnPrefix() {
+        return index.search("85", 10);
+    }
+
+    // The replaced repository query, for comparison
+    @Benchmark
+    public List<Long> likePrefix() {
+        return database.jdbc().queryForList("SELECT id FROM patients WHERE name LIKE ? ORDER BY name, id LIMIT 10",
+                Long.class, "Иван Пет%");
+    }
+}
@@ -0,0 +1,69 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.entity.Patient;
+import com.nbu.medicalrecord.repository.ExaminationRepository;
+import com.nbu.medicalrecord.repository.PatientRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository report queries on their own, without service-level mapping.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ReportQueryBenchmark {
+
+    private static final LocalDate PERIOD_START = LocalDate.now().minusMonths(6);
+
+    private ExaminationRepository examinationRepository;
+    private BaselineReportQueries baselineQueries;
+    private PatientRepository patientRepository;
+    private Long diagnosisId;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        examinationRepository = database.bean(ExaminationRepository.class);
+        baselineQueries = new BaselineReportQueries(database.jdbc());
+        patientRepository = database.bean(PatientRepository.class);
+        diagnosisId = database.jdbc().queryForObject("SELECT MIN(diagnosis_id) FROM examinations", Long.class);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> examinationsByDoctor() {
+        return baselineQueries.examinationsByDoctor();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sickLeavesByDoctor() {
+        return baselineQueries.sickLeavesByDoctor();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sickLeavesByMonth() {
+        return baselineQueries.sickLeavesByMonth();
+    }
+
+    @Benchmark
+    public List<Object[]> patientsByGp() {
+        return patientRepository.countPatientsByGp();
+    }
+
+    @Benchmark
+    public List<Patient> patientsByDiagnosis() {
+        return patientRepository.findByDiagnosisId(diagnosisId);
+    }
+
+    @Benchmark
+    public List<ExaminationDto.Row> examinationsInMonth() {
+        return examinationRepository.findAllInPeriod(PERIOD_START, PERIOD_START.plusMonths(1).minusDays(1));
+    }
+}
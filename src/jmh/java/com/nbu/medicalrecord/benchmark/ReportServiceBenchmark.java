@@ -0,0 +1,46 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.nbu.medicalrecord.dto.ReportDto;
+import com.nbu.medicalrecord.service.DiagnosisService;
+import com.nbu.medicalrecord.service.DoctorService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report endpoints as many administrators open them at once: the same service calls from 16 threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(16)
+@State(Scope.Benchmark)
+public class ReportServiceBenchmark {
+
+    private DoctorService doctorService;
+    private DiagnosisService diagnosisService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        doctorService = database.bean(DoctorService.class);
+        diagnosisService = database.bean(DiagnosisService.class);
+    }
+
+    @Benchmark
+    public List<ReportDto.DiagnosisFrequency> frequentDiagnoses() {
+        return diagnosisService.getMostFrequentDiagnoses();
+    }
+
+    @Benchmark
+    public List<ReportDto.DoctorPatientCount> patientsPerGp() {
+        return doctorService.getPatientCountPerGp();
+    }
+
+    @Benchmark
+    public List<ReportDto.DoctorExaminationCount> examinationsPerDoctor() {
+        return doctorService.getExaminationCountPerDoctor();
+    }
+}
@@ -0,0 +1,94 @@
+package com.nbu.medicalrecord.benchmark;
+
+import com.nbu.medicalrecord.dto.DoctorDto;
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.dto.SickLeaveDto;
+import com.nbu.medicalrecord.dto.UserDto;
+import com.nbu.medicalrecord.entity.User;
+import com.nbu.medicalrecord.service.ExaminationService;
+import com.nbu.medicalrecord.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA write paths: registration (user, doctor and specialty join rows) and examination creation with a sick leave,
+ * one at a time and many in one transaction. Every call commits, so the database grows during the run.
+ * Registration includes the BCrypt password hash.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class WriteThroughputBenchmark {
+
+    private static final int BULK_SIZE = 100;
+
+    private UserService userService;
+    private ExaminationService examinationService;
+    private TransactionTemplate transactionTemplate;
+    private Set<Long> specialtyIds;
+    private Long patientId;
+    private Long doctorId;
+    private long registered;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        userService = database.bean(UserService.class);
+        examinationService = database.bean(ExaminationService.class);
+        transactionTemplate = new TransactionTemplate(database.bean(PlatformTransactionManager.class));
+        List<Long> specialties = database.jdbc().queryForList("SELECT id FROM specialties ORDER BY id", Long.class);
+        specialtyIds = Set.copyOf(specialties.subList(0, Math.min(3, specialties.size())));
+        patientId = database.jdbc().queryForObject("SELECT MIN(id) FROM patients", Long.class);
+        doctorId = database.jdbc().queryForObject("SELECT MIN(id) FROM doctors", Long.class);
+    }
+
+    @Benchmark
+    public UserDto.Response registerDoctor() {
+        return userService.register(UserDto.RegisterRequest.builder()
+                .username("bench-doctor-" + ++registered)
+                .password("doctor123")
+                .role(User.Role.DOCTOR)
+                .doctor(DoctorDto.Request.builder()
+                        .uin(String.format("B%09d", registered))
+                        .name("Д-р Бенчмарк")
+                        .isGp(false)
+                        .specialtyIds(specialtyIds)
+                        .build())
+                .build());
+    }
+
+    @Benchmark
+    public ExaminationDto.Response createExamination() {
+        return examinationService.create(examination());
+    }
+
+    // Operations are transactions of BULK_SIZE examinations
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public int createExaminationsInOneTransaction() {
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < BULK_SIZE; i++) {
+                examinationService.create(examination());
+            }
+            return BULK_SIZE;
+        });
+    }
+
+    private ExaminationDto.Request examination() {
+        return ExaminationDto.Request.builder()
+                .examinationDate(LocalDate.now())
+                .patientId(patientId)
+                .doctorId(doctorId)
+                .treatment("Почивка и обилни течности")
+                .sickLeave(SickLeaveDto.Request.builder().startDate(LocalDate.now()).numberOfDays(5).build())
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.nbu.medicalrecord.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nbu.medicalrecord.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Caches for read-mostly reference data and short-lived report results. Reference data sizes, expiry and stats recording are set
+ * through spring.cache.* properties.
+ * The cache advice is ordered outside the transaction advice, so evictions on
+ * write methods happen after the commit, not before it.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String DIAGNOSES = "diagnoses";
+    public static final String DIAGNOSIS_BY_CODE = "diagnosisByCode";
+    public static final String SPECIALTIES = "specialties";
+    public static final String GENERAL_PRACTITIONERS = "generalPractitioners";
+    public static final String DISPLAY_NAMES = "displayNames";
+    public static final String REPORTS = "reports";
+    public static final String REPORT_KEY = "reportKey";
+
+    private static final int MAX_REPORTS = 200;
+
+    /**
+     * Report results, kept only briefly. Report methods read this cache with sync = true, so concurrent
+     * identical requests wait for one computation instead of each running the same GROUP BY.
+     * Writes that change report figures clear it; a computation already in flight when a write commits
+     * can still store its result, which the short expiry bounds.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> reportCacheCustomizer(
+            @Value("${medical-record.reports.cache-ttl}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(REPORTS, Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(MAX_REPORTS)
+                .recordStats()
+                .build());
+    }
+
+    // Report methods share one cache, so the key names the method as well as its arguments
+    @Bean(REPORT_KEY)
+    public KeyGenerator reportKeyGenerator() {
+        return (target, method, params) -> {
+            Object[] elements = new Object[params.length + 1];
+            elements[0] = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            System.arraycopy(params, 0, elements, 1, params.length);
+            return new SimpleKey(elements);
+        };
+    }
+
+    /**
+     * Evicts a display name once the surrounding transaction commits,
+     * for writes whose cache key is only known inside the method
+     */
+    public static void evictDisplayName(CacheManager cacheManager, User user) {
+        Cache cache = cacheManager.getCache(DISPLAY_NAMES);
+        if (cache != null && user != null) {
+            new TransactionAwareCacheDecorator(cache).evict(user.getId());
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.nbu.medicalrecord.config;
 
 import com.nbu.medicalrecord.entity.*;
 import com.nbu.medicalrecord.repository.*;
+import com.nbu.medicalrecord.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +15,7 @@ import java.time.LocalDate;
 import java.util.Set;
 
 @Component
+@Order(1)
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
@@ -22,6 +25,10 @@ public class DataInitializer implements CommandLineRunner {
     private final PatientRepository patientRepository;
     private final SpecialtyRepository specialtyRepository;
     private final DiagnosisRepository diagnosisRepository;
+    private final ExaminationRepository examinationRepository;
+    private final DoctorCounterRepository doctorCounterRepository;
+    private final DiagnosisCounterRepository diagnosisCounterRepository;
+    private final StatisticsService statisticsService;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -30,6 +37,10 @@ public class DataInitializer implements CommandLineRunner {
         if (userRepository.count() == 0) {
             initializeData();
             log.info("Initial data has been loaded successfully");
+        } else if ((doctorCounterRepository.count() == 0 || diagnosisCounterRepository.count() == 0)
+                && examinationRepository.count() > 0) {
+            // Database created before the report counters existed
+            statisticsService.rebuild();
         }
     }
 
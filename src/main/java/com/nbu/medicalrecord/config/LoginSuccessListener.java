@@ -0,0 +1,23 @@
+package com.nbu.medicalrecord.config;
+
+import com.nbu.medicalrecord.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the display name once at login, so page rendering reads it from the cache
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginSuccessListener {
+
+    private final UserService userService;
+
+    @EventListener
+    public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+        MedicalUserDetails.from(event.getAuthentication())
+                .ifPresent(principal -> userService.getDisplayName(principal.getUserId()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.nbu.medicalrecord.config;
+
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Authenticated principal carrying the ids that authorization checks need.
+ * Resolved once at login and kept in the security context for the whole session,
+ * so access checks do not look the user up again on every request.
+ */
+@Getter
+public class MedicalUserDetails extends User {
+
+    private final Long userId;
+    private final Long doctorId;
+    private final Long patientId;
+
+    public MedicalUserDetails(String username, String password, Collection<? extends GrantedAuthority> authorities,
+                              Long userId, Long doctorId, Long patientId) {
+        super(username, password, authorities);
+        this.userId = userId;
+        this.doctorId = doctorId;
+        this.patientId = patientId;
+    }
+
+    /**
+     * Returns the principal of the given authentication, if it was created by CustomUserDetailsService
+     */
+    public static Optional<MedicalUserDetails> from(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof MedicalUserDetails details) {
+            return Optional.of(details);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the principal of the current request, if any
+     */
+    public static Optional<MedicalUserDetails> current() {
+        return from(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
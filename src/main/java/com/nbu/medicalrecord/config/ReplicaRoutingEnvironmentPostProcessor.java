@@ -0,0 +1,32 @@
+package com.nbu.medicalrecord.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * With a replica configured, every transaction must get its own routed connection: ReadWriteRoutingDataSource
+ * picks the route once per physical connection. Hibernate otherwise holds the connection of the first transaction
+ * for the whole EntityManager, and open-in-view keeps one EntityManager for the whole request, so a write after
+ * a read-only check would reach the replica. Both are switched off here, ahead of any other property source.
+ */
+public class ReplicaRoutingEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String REPLICA_URL = "medical-record.datasource.replica.jdbc-url";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.containsProperty(REPLICA_URL)) {
+            return;
+        }
+        environment.getPropertySources().addFirst(new MapPropertySource("replicaRouting", Map.of(
+                "spring.jpa.open-in-view", "false",
+                "spring.jpa.properties." + AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION.name())));
+    }
+}
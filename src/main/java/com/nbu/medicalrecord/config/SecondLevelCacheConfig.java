@@ -0,0 +1,36 @@
+package com.nbu.medicalrecord.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for Doctor, Specialty, Diagnosis and Doctor.specialties.
+ * Regions are Caffeine caches configured in application.conf (size bounds and expiry);
+ * hit/miss counts per region are published as hibernate.second.level.cache.* metrics.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * A cache manager of this context's own: the provider's default one would be shared by every
+     * application context in the JVM (and closed by the first to shut down)
+     */
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -40,6 +40,8 @@ public class SecurityConfig {
                         // Public endpoints
                         .requestMatchers("/", "/login", "/css/**", "/js/**", "/images/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/specialties", "/api/diagnoses").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/doctors", "/api/doctors/**").permitAll()
                         // Admin only
@@ -1,13 +1,9 @@
 package com.nbu.medicalrecord.config;
 
-import com.nbu.medicalrecord.entity.Examination;
-import com.nbu.medicalrecord.entity.Patient;
-import com.nbu.medicalrecord.entity.User;
 import com.nbu.medicalrecord.repository.ExaminationRepository;
-import com.nbu.medicalrecord.repository.PatientRepository;
-import com.nbu.medicalrecord.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -16,24 +12,17 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SecurityService {
 
-    private final UserRepository userRepository;
-    private final PatientRepository patientRepository;
+    private final CustomUserDetailsService userDetailsService;
     private final ExaminationRepository examinationRepository;
 
     /**
      * Check if the authenticated user is the owner of the patient record
      */
     public boolean isOwnerPatient(Long patientId, Authentication authentication) {
-        if (authentication == null) {
-            return false;
-        }
-
-        Optional<User> userOpt = userRepository.findByUsername(authentication.getName());
-        if (userOpt.isEmpty() || userOpt.get().getPatient() == null) {
-            return false;
-        }
-
-        return userOpt.get().getPatient().getId().equals(patientId);
+        return principal(authentication)
+                .map(MedicalUserDetails::getPatientId)
+                .map(id -> id.equals(patientId))
+                .orElse(false);
     }
 
     /**
@@ -41,55 +30,25 @@ public class SecurityService {
      * (either as the patient who had the examination or as a doctor)
      */
     public boolean canAccessExamination(Long examinationId, Authentication authentication) {
-        if (authentication == null) {
+        Optional<MedicalUserDetails> principal = principal(authentication);
+        if (principal.isEmpty() || (principal.get().getPatientId() == null && principal.get().getDoctorId() == null)) {
             return false;
         }
 
-        Optional<User> userOpt = userRepository.findByUsername(authentication.getName());
-        if (userOpt.isEmpty()) {
-            return false;
-        }
-
-        User user = userOpt.get();
-        Optional<Examination> examOpt = examinationRepository.findById(examinationId);
-        if (examOpt.isEmpty()) {
-            return false;
-        }
-
-        Examination examination = examOpt.get();
-
-        // Patient can view their own examinations
-        if (user.getPatient() != null && user.getPatient().getId().equals(examination.getPatient().getId())) {
-            return true;
-        }
-
-        // Doctor can view examinations they performed
-        if (user.getDoctor() != null && user.getDoctor().getId().equals(examination.getDoctor().getId())) {
-            return true;
-        }
-
-        return false;
+        return examinationRepository.isAccessibleBy(examinationId,
+                principal.get().getPatientId(), principal.get().getDoctorId());
     }
 
     /**
      * Check if the authenticated user is the doctor who performed the examination
      */
     public boolean isDoctorForExamination(Long examinationId, Authentication authentication) {
-        if (authentication == null) {
-            return false;
-        }
-
-        Optional<User> userOpt = userRepository.findByUsername(authentication.getName());
-        if (userOpt.isEmpty() || userOpt.get().getDoctor() == null) {
-            return false;
-        }
-
-        Optional<Examination> examOpt = examinationRepository.findById(examinationId);
-        if (examOpt.isEmpty()) {
+        Optional<Long> doctorId = principal(authentication).map(MedicalUserDetails::getDoctorId);
+        if (doctorId.isEmpty()) {
             return false;
         }
 
-        return userOpt.get().getDoctor().getId().equals(examOpt.get().getDoctor().getId());
+        return examinationRepository.isAccessibleBy(examinationId, null, doctorId.get());
     }
 
     /**
@@ -97,15 +56,30 @@ public class SecurityService {
      * Used to validate that doctors can only create examinations for themselves
      */
     public boolean isDoctorWithId(Long doctorId, Authentication authentication) {
+        return principal(authentication)
+                .map(MedicalUserDetails::getDoctorId)
+                .map(id -> id.equals(doctorId))
+                .orElse(false);
+    }
+
+    /**
+     * Principal resolved at login; authentications created elsewhere (e.g. in tests)
+     * fall back to a lookup by username
+     */
+    private Optional<MedicalUserDetails> principal(Authentication authentication) {
         if (authentication == null) {
-            return false;
+            return Optional.empty();
         }
 
-        Optional<User> userOpt = userRepository.findByUsername(authentication.getName());
-        if (userOpt.isEmpty() || userOpt.get().getDoctor() == null) {
-            return false;
+        Optional<MedicalUserDetails> principal = MedicalUserDetails.from(authentication);
+        if (principal.isPresent()) {
+            return principal;
         }
 
-        return userOpt.get().getDoctor().getId().equals(doctorId);
+        try {
+            return Optional.of(userDetailsService.loadUserByUsername(authentication.getName()));
+        } catch (UsernameNotFoundException e) {
+            return Optional.empty();
+        }
     }
 }
@@ -0,0 +1,292 @@
+package com.nbu.medicalrecord.config;
+
+import com.nbu.medicalrecord.entity.*;
+import com.nbu.medicalrecord.repository.EntityIdAllocator;
+import com.nbu.medicalrecord.search.DiagnosisSearchIndex;
+import com.nbu.medicalrecord.search.PatientSearchIndex;
+import com.nbu.medicalrecord.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Bulk-generates doctors, patients, examinations and sick leaves for load and scale testing.
+ * Enabled by setting medical-record.generator.examinations to the number of examinations to create.
+ * Rows are written with batched JDBC inserts, bypassing JPA, with ids from the entities' sequences;
+ * report counters and the search indexes are rebuilt at the end.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int[] EGN_WEIGHTS = {2, 4, 8, 5, 10, 9, 7, 3, 6};
+    private static final LocalDate FIRST_BIRTH_DATE = LocalDate.of(1940, 1, 1);
+    private static final int BIRTH_DATE_RANGE = (int) ChronoUnit.DAYS.between(FIRST_BIRTH_DATE, LocalDate.of(2020, 1, 1));
+    private static final int DIAGNOSIS_CODES = 1_000;
+    // Zipf exponent for the diagnosis distribution; a few codes cover most examinations
+    private static final double DIAGNOSIS_SKEW = 1.1;
+
+    // First half male, second half female
+    private static final String[] FIRST_NAMES = {"Иван", "Георги", "Димитър", "Петър", "Николай", "Христо", "Стоян",
+            "Тодор", "Васил", "Александър", "Мария", "Елена", "Иванка", "Йорданка", "Пенка", "Даниела", "Виктория",
+            "Десислава", "Надежда", "Габриела"};
+    private static final String[] LAST_NAMES = {"Иванов", "Георгиев", "Димитров", "Петров", "Николов", "Христов",
+            "Стоянов", "Тодоров", "Василев", "Маринов", "Попов", "Костов", "Ангелов", "Колев", "Йорданов"};
+    private static final String[] TREATMENTS = {"Почивка и обилни течности", "Антибиотична терапия", "Физиотерапия",
+            "Нестероидни противовъзпалителни", "Диета и контрол на кръвното налягане", "Контролен преглед след 7 дни"};
+    private static final String[] PRESCRIPTIONS = {"Парацетамол 500 мг 3 пъти дневно", "Амоксицилин 1000 мг 2 пъти дневно",
+            "Ибупрофен 400 мг при нужда", "Лизиноприл 10 мг сутрин", "Омепразол 20 мг преди хранене"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityIdAllocator idAllocator;
+    private final StatisticsService statisticsService;
+    private final DiagnosisSearchIndex diagnosisSearchIndex;
+    private final PatientSearchIndex patientSearchIndex;
+
+    @Value("${medical-record.generator.examinations:0}")
+    private long examinations;
+
+    @Value("${medical-record.generator.seed:42}")
+    private long seed;
+
+    @Override
+    public void run(String... args) {
+        if (examinations > 0) {
+            generate(examinations);
+        }
+    }
+
+    /**
+     * Adds the given number of examinations, with doctors, patients and diagnoses in proportion.
+     * About one in five examinations gets a sick leave.
+     */
+    public void generate(long examinationCount) {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        int doctorCount = (int) Math.max(20, examinationCount / 2_500);
+        int patientCount = (int) Math.max(100, examinationCount / 8);
+        log.info("Generating {} examinations for {} doctors and {} patients", examinationCount, doctorCount, patientCount);
+
+        long[] doctorIds = insertDoctors(doctorCount, random);
+        long[] gpIds = Arrays.copyOf(doctorIds, Math.max(1, doctorIds.length * 3 / 5)); // first 60% are GPs
+        long[] diagnosisIds = insertDiagnoses(random);
+        double[] diagnosisCdf = zipfCdf(diagnosisIds.length);
+
+        int[] patientGp = new int[patientCount];
+        long[] patientIds = insertPatients(patientCount, gpIds, patientGp, random);
+
+        LocalDate today = LocalDate.now();
+        // Examination and detail rows; the leading id is filled in per batch
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> details = new ArrayList<>(BATCH_SIZE);
+        // Sick leave days per examination in the batch, 0 for none
+        List<Integer> sickLeaveDays = new ArrayList<>(BATCH_SIZE);
+        int sickLeaves = 0;
+        for (long i = 0; i < examinationCount; i++) {
+            int patient = random.nextInt(patientIds.length);
+            // Most visits go to the patient's own GP
+            long doctorId = random.nextInt(10) < 7 ? gpIds[patientGp[patient]] : doctorIds[random.nextInt(doctorIds.length)];
+            Long diagnosisId = random.nextInt(20) == 0 ? null : diagnosisIds[pick(diagnosisCdf, random.nextDouble())];
+            batch.add(new Object[]{
+                    null,
+                    Date.valueOf(today.minusDays(random.nextInt(3 * 365))),
+                    patientIds[patient],
+                    doctorId,
+                    diagnosisId
+            });
+            details.add(new Object[]{
+                    null,
+                    TREATMENTS[random.nextInt(TREATMENTS.length)],
+                    random.nextBoolean() ? PRESCRIPTIONS[random.nextInt(PRESCRIPTIONS.length)] : null
+            });
+            // Mostly short leaves, one in four up to a month
+            sickLeaveDays.add(random.nextInt(5) == 0 ? 1 + random.nextInt(random.nextInt(4) == 0 ? 30 : 7) : 0);
+            if (batch.size() == BATCH_SIZE) {
+                sickLeaves += insertExaminations(batch, details, sickLeaveDays);
+                if ((i + 1) % (BATCH_SIZE * 100L) == 0) {
+                    log.info("Generated {} of {} examinations", i + 1, examinationCount);
+                }
+            }
+        }
+        sickLeaves += insertExaminations(batch, details, sickLeaveDays);
+
+        statisticsService.rebuild();
+        diagnosisSearchIndex.rebuild();
+        patientSearchIndex.rebuild();
+        log.info("Generated {} examinations and {} sick leaves in {} s",
+                examinationCount, sickLeaves, (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private long[] insertDoctors(int count, SplittableRandom random) {
+        long[] doctorIds = idAllocator.allocate(Doctor.class, count);
+        Set<String> existingUins = new HashSet<>(jdbcTemplate.queryForList("SELECT uin FROM doctors", String.class));
+        String sql = "INSERT INTO doctors (id, uin, name, is_gp) VALUES (?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        long next = 1_000_000_000L + existingUins.size();
+        for (int i = 0; i < count; i++) {
+            String uin;
+            do {
+                uin = String.valueOf(next++);
+            } while (existingUins.contains(uin));
+            batch.add(new Object[]{doctorIds[i], uin, "Д-р " + personName(random), i < count * 3 / 5});
+            flushIfFull(sql, batch);
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+
+        // One specialty per doctor, when specialties exist
+        List<Long> specialtyIds = jdbcTemplate.queryForList("SELECT id FROM specialties ORDER BY id", Long.class);
+        if (!specialtyIds.isEmpty()) {
+            batch.clear();
+            for (long doctorId : doctorIds) {
+                batch.add(new Object[]{doctorId, specialtyIds.get(random.nextInt(specialtyIds.size()))});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO doctor_specialties (doctor_id, specialty_id) VALUES (?, ?)", batch);
+        }
+        return doctorIds;
+    }
+
+    // ICD-10-like category codes (A00, B00, ... Z38), skipping any that already exist; returns all diagnosis ids in random order
+    private long[] insertDiagnoses(SplittableRandom random) {
+        Set<String> existingCodes = new HashSet<>(jdbcTemplate.queryForList("SELECT code FROM diagnoses", String.class));
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < DIAGNOSIS_CODES; i++) {
+            char letter = (char) ('A' + i % 26);
+            String code = String.format("%c%02d", letter, i / 26);
+            if (letter != 'U' && existingCodes.add(code)) {
+                batch.add(new Object[]{null, code, "Диагноза " + code});
+            }
+        }
+        long[] newIds = idAllocator.allocate(Diagnosis.class, batch.size());
+        for (int i = 0; i < newIds.length; i++) {
+            batch.get(i)[0] = newIds[i];
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO diagnoses (id, code, name) VALUES (?, ?, ?)", batch);
+
+        long[] ids = idsAfter("diagnoses", 0);
+        // Shuffle so the most frequent diagnoses are not simply the oldest rows
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        return ids;
+    }
+
+    private long[] insertPatients(int count, long[] gpIds, int[] patientGp, SplittableRandom random) {
+        long[] patientIds = idAllocator.allocate(Patient.class, count);
+        Set<String> existingEgns = new HashSet<>(jdbcTemplate.queryForList("SELECT egn FROM patients", String.class));
+        String sql = "INSERT INTO patients (id, name, egn, last_insurance_payment, gp_id) VALUES (?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        int next = existingEgns.size();
+        for (int i = 0; i < count; i++) {
+            String egn;
+            do {
+                egn = egn(next++);
+            } while (existingEgns.contains(egn));
+            patientGp[i] = random.nextInt(gpIds.length);
+            batch.add(new Object[]{patientIds[i], personName(random), egn,
+                    Date.valueOf(today.minusDays(random.nextInt(365))), gpIds[patientGp[i]]});
+            flushIfFull(sql, batch);
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+        return patientIds;
+    }
+
+    // Returns the number of sick leaves added
+    private int insertExaminations(List<Object[]> batch, List<Object[]> details, List<Integer> sickLeaveDays) {
+        long[] ids = idAllocator.allocate(Examination.class, batch.size());
+        List<Object[]> sickLeaves = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            batch.get(i)[0] = ids[i];
+            details.get(i)[0] = ids[i];
+            if (sickLeaveDays.get(i) > 0) {
+                sickLeaves.add(new Object[]{null, batch.get(i)[1], sickLeaveDays.get(i), ids[i]});
+            }
+        }
+        long[] sickLeaveIds = idAllocator.allocate(SickLeave.class, sickLeaves.size());
+        for (int i = 0; i < sickLeaveIds.length; i++) {
+            sickLeaves.get(i)[0] = sickLeaveIds[i];
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO examinations " +
+                "(id, examination_date, patient_id, doctor_id, diagnosis_id) VALUES (?, ?, ?, ?, ?)", batch);
+        jdbcTemplate.batchUpdate("INSERT INTO examination_details " +
+                "(examination_id, treatment, prescription) VALUES (?, ?, ?)", details);
+        jdbcTemplate.batchUpdate("INSERT INTO sick_leaves " +
+                "(id, start_date, number_of_days, examination_id) VALUES (?, ?, ?, ?)", sickLeaves);
+        batch.clear();
+        details.clear();
+        sickLeaveDays.clear();
+        return sickLeaves.size();
+    }
+
+    /**
+     * Valid EGN for the given index: birth date and 3-digit sequence are derived from the index,
+     * so indexes below ~29M never repeat.
+     */
+    static String egn(int index) {
+        LocalDate birthDate = FIRST_BIRTH_DATE.plusDays(index % BIRTH_DATE_RANGE);
+        int sequence = (index / BIRTH_DATE_RANGE) % 1_000;
+        int month = birthDate.getMonthValue() + (birthDate.getYear() >= 2000 ? 40 : 0);
+        String digits = String.format("%02d%02d%02d%03d", birthDate.getYear() % 100, month, birthDate.getDayOfMonth(), sequence);
+
+        int sum = 0;
+        for (int i = 0; i < EGN_WEIGHTS.length; i++) {
+            sum += (digits.charAt(i) - '0') * EGN_WEIGHTS[i];
+        }
+        int checksum = sum % 11;
+        return digits + (checksum == 10 ? 0 : checksum);
+    }
+
+    private static double[] zipfCdf(int size) {
+        double[] cdf = new double[size];
+        double total = 0;
+        for (int k = 0; k < size; k++) {
+            total += 1.0 / Math.pow(k + 1, DIAGNOSIS_SKEW);
+            cdf[k] = total;
+        }
+        for (int k = 0; k < size; k++) {
+            cdf[k] /= total;
+        }
+        return cdf;
+    }
+
+    private static int pick(double[] cdf, double value) {
+        int index = Arrays.binarySearch(cdf, value);
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    private static String personName(SplittableRandom random) {
+        int first = random.nextInt(FIRST_NAMES.length);
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return FIRST_NAMES[first] + " " + (first >= FIRST_NAMES.length / 2 ? lastName + "а" : lastName);
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch) {
+        if (batch.size() == BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+
+    private long[] idsAfter(String table, long lastId) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id > ? ORDER BY id", Long.class, lastId)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
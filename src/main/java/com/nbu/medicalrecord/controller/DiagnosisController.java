@@ -41,8 +41,16 @@ public class DiagnosisController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<DiagnosisDto.Response>> searchByName(@RequestParam String name) {
-        return ResponseEntity.ok(diagnosisService.searchByName(name));
+    public ResponseEntity<List<DiagnosisDto.Response>> searchByName(@RequestParam String name,
+                                                                     @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(diagnosisService.searchByName(name, limit));
+    }
+
+    // ICD-10 typeahead: "J0" returns the J00-J09 codes
+    @GetMapping("/code-prefix/{prefix}")
+    public ResponseEntity<List<DiagnosisDto.Response>> findByCodePrefix(@PathVariable String prefix,
+                                                                        @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(diagnosisService.findByCodePrefix(prefix, limit));
     }
 
     @PutMapping("/{id}")
@@ -63,4 +71,13 @@ public class DiagnosisController {
     public ResponseEntity<List<ReportDto.DiagnosisFrequency>> getMostFrequentDiagnoses() {
         return ResponseEntity.ok(diagnosisService.getMostFrequentDiagnoses());
     }
+
+    // level=chapter|category|code; from/to limit the codes to a range such as a block
+    @GetMapping("/reports/rollup")
+    public ResponseEntity<List<ReportDto.CodeGroupFrequency>> getFrequencyRollup(
+            @RequestParam(defaultValue = "chapter") String level,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        return ResponseEntity.ok(diagnosisService.getFrequencyRollup(ReportDto.RollupLevel.from(level), from, to));
+    }
 }
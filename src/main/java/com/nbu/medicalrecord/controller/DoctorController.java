@@ -45,6 +45,13 @@ public class DoctorController {
         return ResponseEntity.ok(doctorService.getAllGps());
     }
 
+    // Typeahead for forms: UIN prefix or part of the name
+    @GetMapping("/search")
+    public ResponseEntity<List<DoctorDto.Summary>> search(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(doctorService.search(q, limit));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<DoctorDto.Response> update(@PathVariable Long id, @Valid @RequestBody DoctorDto.Request request) {
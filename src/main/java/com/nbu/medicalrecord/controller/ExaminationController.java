@@ -1,16 +1,25 @@
 package com.nbu.medicalrecord.controller;
 
+import com.nbu.medicalrecord.dto.CursorPage;
 import com.nbu.medicalrecord.dto.ExaminationDto;
 import com.nbu.medicalrecord.dto.ReportDto;
+import com.nbu.medicalrecord.service.ExaminationExportService;
+import com.nbu.medicalrecord.service.ExaminationImportService;
 import com.nbu.medicalrecord.service.ExaminationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -20,6 +29,8 @@ import java.util.List;
 public class ExaminationController {
 
     private final ExaminationService examinationService;
+    private final ExaminationImportService examinationImportService;
+    private final ExaminationExportService examinationExportService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
@@ -27,6 +38,13 @@ public class ExaminationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(examinationService.create(request));
     }
 
+    // Newline-delimited JSON, one ExaminationDto.Request per line; errors are reported per line
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<ExaminationDto.BulkResult> importBulk(InputStream body) {
+        return ResponseEntity.ok(examinationImportService.importNdjson(body));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR') or @securityService.canAccessExamination(#id, authentication)")
     public ResponseEntity<ExaminationDto.Response> getById(@PathVariable Long id) {
@@ -35,8 +53,10 @@ public class ExaminationController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
-    public ResponseEntity<List<ExaminationDto.Response>> getAll() {
-        return ResponseEntity.ok(examinationService.getAll());
+    public ResponseEntity<CursorPage<ExaminationDto.Response>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(examinationService.getPage(cursor, size));
     }
 
     @PutMapping("/{id}")
@@ -72,6 +92,25 @@ public class ExaminationController {
         return ResponseEntity.ok(examinationService.getAllInPeriod(startDate, endDate));
     }
 
+    // Streams the whole period as a download (format=csv or ndjson) without building the result in memory
+    @GetMapping("/reports/by-period/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<StreamingResponseBody> exportInPeriod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExaminationDto.ExportFormat exportFormat = ExaminationDto.ExportFormat.from(format);
+        MediaType contentType = exportFormat == ExaminationDto.ExportFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        String fileName = "examinations-" + startDate + "-" + endDate + "." + exportFormat.name().toLowerCase();
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(output -> examinationExportService.exportInPeriod(startDate, endDate, exportFormat, output));
+    }
+
     @GetMapping("/reports/by-doctor-period/{doctorId}")
     public ResponseEntity<List<ExaminationDto.Response>> getByDoctorInPeriod(
             @PathVariable Long doctorId,
@@ -81,7 +120,18 @@ public class ExaminationController {
     }
 
     @GetMapping("/reports/by-patient")
-    public ResponseEntity<List<ReportDto.PatientExaminations>> getExaminationsGroupedByPatient() {
-        return ResponseEntity.ok(examinationService.getExaminationsGroupedByPatient());
+    public ResponseEntity<CursorPage<ReportDto.PatientExaminations>> getExaminationsGroupedByPatient(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(examinationService.getExaminationsGroupedByPatient(cursor, size));
+    }
+
+    // The whole report as NDJSON, one patient per line, streamed without paging
+    @GetMapping(value = "/reports/by-patient", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<StreamingResponseBody> streamExaminationsGroupedByPatient() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(examinationExportService::exportGroupedByPatient);
     }
 }
@@ -1,10 +1,6 @@
 package com.nbu.medicalrecord.controller;
 
-import com.nbu.medicalrecord.dto.DoctorDto;
-import com.nbu.medicalrecord.dto.PatientDto;
-import com.nbu.medicalrecord.dto.UserDto;
-import com.nbu.medicalrecord.service.DoctorService;
-import com.nbu.medicalrecord.service.PatientService;
+import com.nbu.medicalrecord.config.MedicalUserDetails;
 import com.nbu.medicalrecord.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -16,8 +12,6 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 public class GlobalModelAdvice {
 
     private final UserService userService;
-    private final PatientService patientService;
-    private final DoctorService doctorService;
 
     @ModelAttribute("currentUserDisplayName")
     public String currentUserDisplayName(Authentication authentication) {
@@ -31,22 +25,11 @@ public class GlobalModelAdvice {
         }
 
         try {
-            UserDto.Response user = userService.getByUsername(username);
-
-            // Check if user is a patient
-            PatientDto.Response patient = patientService.getByUserId(user.getId());
-            if (patient != null) {
-                return patient.getName();
-            }
-
-            // Check if user is a doctor
-            DoctorDto.Response doctor = doctorService.getByUserId(user.getId());
-            if (doctor != null) {
-                return doctor.getName();
-            }
-
-            // Fallback to username
-            return username;
+            // Patient or doctor name, cached per user id and primed at login
+            Long userId = MedicalUserDetails.from(authentication)
+                    .map(MedicalUserDetails::getUserId)
+                    .orElseGet(() -> userService.getByUsername(username).getId());
+            return userService.getDisplayName(userId);
         } catch (Exception e) {
             return username;
         }
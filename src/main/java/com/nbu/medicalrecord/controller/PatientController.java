@@ -42,6 +42,14 @@ public class PatientController {
         return ResponseEntity.ok(patientService.getAll());
     }
 
+    // Typeahead for forms: EGN prefix when the query is all digits, name prefix otherwise
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<List<PatientDto.Summary>> search(@RequestParam String q,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(patientService.search(q, limit));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PatientDto.Response> update(@PathVariable Long id, @Valid @RequestBody PatientDto.Request request) {
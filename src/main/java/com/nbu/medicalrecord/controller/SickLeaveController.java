@@ -41,7 +41,10 @@ public class SickLeaveController {
 
     // Reports
     @GetMapping("/reports/by-month")
-    public ResponseEntity<List<ReportDto.MonthSickLeaveCount>> getMonthsWithMostSickLeaves() {
-        return ResponseEntity.ok(sickLeaveService.getMonthsWithMostSickLeaves());
+    public ResponseEntity<List<ReportDto.MonthSickLeaveCount>> getMonthsWithMostSickLeaves(
+            @RequestParam(required = false) Integer fromYear,
+            @RequestParam(required = false) Integer toYear,
+            @RequestParam(defaultValue = "12") int limit) {
+        return ResponseEntity.ok(sickLeaveService.getMonthsWithMostSickLeaves(fromYear, toYear, limit));
     }
 }
@@ -1,5 +1,6 @@
 package com.nbu.medicalrecord.controller;
 
+import com.nbu.medicalrecord.config.MedicalUserDetails;
 import com.nbu.medicalrecord.dto.*;
 import com.nbu.medicalrecord.service.*;
 import lombok.RequiredArgsConstructor;
@@ -274,20 +275,29 @@ public class WebController {
     // Examinations
     @GetMapping("/examinations")
     @PreAuthorize("isAuthenticated()")
-    public String examinations(Model model, Authentication authentication) {
+    public String examinations(Model model, Authentication authentication,
+                               @RequestParam(required = false) String cursor) {
         boolean isPatient = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT"));
 
         if (isPatient) {
-            UserDto.Response user = userService.getByUsername(authentication.getName());
-            PatientDto.Response patient = patientService.getByUserId(user.getId());
-            if (patient != null) {
-                model.addAttribute("examinations", examinationService.getByPatientId(patient.getId()));
+            Long patientId = MedicalUserDetails.from(authentication)
+                    .map(MedicalUserDetails::getPatientId)
+                    .orElseGet(() -> {
+                        UserDto.Response user = userService.getByUsername(authentication.getName());
+                        PatientDto.Response patient = patientService.getByUserId(user.getId());
+                        return patient != null ? patient.getId() : null;
+                    });
+            if (patientId != null) {
+                model.addAttribute("examinations", examinationService.getByPatientId(patientId));
             } else {
                 model.addAttribute("examinations", List.of());
             }
         } else {
-            model.addAttribute("examinations", examinationService.getAll());
+            CursorPage<ExaminationDto.Response> page = examinationService.getPage(cursor, 20);
+            model.addAttribute("examinations", page.getContent());
+            model.addAttribute("nextCursor", page.getNextCursor());
+            model.addAttribute("pagedFromStart", cursor == null || cursor.isBlank());
         }
         return "examinations/list";
     }
@@ -295,10 +305,8 @@ public class WebController {
     @GetMapping("/examinations/new")
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
     public String newExaminationForm(Model model) {
+        // Patient, doctor and diagnosis are picked through the typeahead endpoints, not preloaded lists
         model.addAttribute("examination", new ExaminationForm());
-        model.addAttribute("patients", patientService.getAll());
-        model.addAttribute("doctors", doctorService.getAll());
-        model.addAttribute("diagnoses", diagnosisService.getAll());
         return "examinations/form";
     }
 
@@ -344,9 +352,11 @@ public class WebController {
         form.setPrescription(exam.getPrescription());
 
         model.addAttribute("examination", form);
-        model.addAttribute("patients", patientService.getAll());
-        model.addAttribute("doctors", doctorService.getAll());
-        model.addAttribute("diagnoses", diagnosisService.getAll());
+        model.addAttribute("patientLabel", exam.getPatient().getName() + " (" + exam.getPatient().getEgn() + ")");
+        model.addAttribute("doctorLabel", exam.getDoctor().getName() + " (" + exam.getDoctor().getUin() + ")");
+        if (exam.getDiagnosis() != null) {
+            model.addAttribute("diagnosisLabel", exam.getDiagnosis().getCode() + " - " + exam.getDiagnosis().getName());
+        }
 
         if (exam.getSickLeave() != null) {
             model.addAttribute("sickLeaveStartDate", exam.getSickLeave().getStartDate());
@@ -416,6 +426,7 @@ public class WebController {
     @PreAuthorize("isAuthenticated()")
     public String frequentDiagnoses(Model model) {
         model.addAttribute("frequencies", diagnosisService.getMostFrequentDiagnoses());
+        model.addAttribute("chapters", diagnosisService.getFrequencyRollup(ReportDto.RollupLevel.CHAPTER, null, null));
         return "reports/frequent-diagnoses";
     }
 
@@ -436,7 +447,7 @@ public class WebController {
     @GetMapping("/reports/sick-leaves")
     @PreAuthorize("isAuthenticated()")
     public String sickLeaves(Model model) {
-        model.addAttribute("monthCounts", sickLeaveService.getMonthsWithMostSickLeaves());
+        model.addAttribute("monthCounts", sickLeaveService.getMonthsWithMostSickLeaves(null, null, 12));
         model.addAttribute("doctorCounts", doctorService.getDoctorsWithMostSickLeaves());
         return "reports/sick-leaves";
     }
@@ -3,9 +3,11 @@ package com.nbu.medicalrecord.dto;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Size;
+import com.nbu.medicalrecord.exception.ValidationException;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public class ExaminationDto {
 
@@ -50,4 +52,72 @@ public class ExaminationDto {
         private String prescription;
         private SickLeaveDto.Response sickLeave;
     }
+
+    /**
+     * Flat read model selected directly by the list and report queries.
+     * Carries no free-text columns; those are only loaded for a single examination.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Row {
+        private Long id;
+        private LocalDate examinationDate;
+        private Long patientId;
+        private String patientName;
+        private String patientEgn;
+        private LocalDate patientLastInsurancePayment;
+        private Long doctorId;
+        private String doctorUin;
+        private String doctorName;
+        private boolean doctorGp;
+        private Long diagnosisId;
+        private String diagnosisCode;
+        private String diagnosisName;
+        private Long sickLeaveId;
+        private LocalDate sickLeaveStartDate;
+        private Integer sickLeaveNumberOfDays;
+    }
+
+    /**
+     * Outcome of a bulk import: rows are numbered by their line in the request body.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkResult {
+        private int received;
+        private int imported;
+        private int failed;
+        private long durationMillis;
+        private List<BulkError> errors;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkError {
+        private int row;
+        private String message;
+    }
+
+    public enum ExportFormat {
+        CSV,
+        NDJSON;
+
+        public static ExportFormat from(String value) {
+            for (ExportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new ValidationException("Неподдържан формат за експорт: " + value);
+        }
+    }
 }
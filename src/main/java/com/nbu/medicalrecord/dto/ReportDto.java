@@ -1,5 +1,6 @@
 package com.nbu.medicalrecord.dto;
 
+import com.nbu.medicalrecord.exception.ValidationException;
 import lombok.*;
 
 import java.util.List;
@@ -36,6 +37,33 @@ public class ReportDto {
         private long frequency;
     }
 
+    // Examination count for an ICD-10 chapter, category or single code
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CodeGroupFrequency {
+        private String code;
+        private String name;
+        private long frequency;
+    }
+
+    public enum RollupLevel {
+        CHAPTER,
+        CATEGORY,
+        CODE;
+
+        public static RollupLevel from(String value) {
+            for (RollupLevel level : values()) {
+                if (level.name().equalsIgnoreCase(value)) {
+                    return level;
+                }
+            }
+            throw new ValidationException("Неподдържано ниво на групиране: " + value);
+        }
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
@@ -45,6 +73,7 @@ public class ReportDto {
         private int month;
         private int year;
         private long count;
+        private long totalDays;
     }
 
     @Getter
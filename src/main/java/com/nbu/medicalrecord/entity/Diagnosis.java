@@ -2,12 +2,15 @@ package com.nbu.medicalrecord.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "diagnoses")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "diagnoses")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +19,8 @@ import java.util.Set;
 public class Diagnosis {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "diagnoses_seq")
+    @SequenceGenerator(name = "diagnoses_seq", sequenceName = "diagnoses_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
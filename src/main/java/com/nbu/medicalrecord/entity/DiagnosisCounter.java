@@ -0,0 +1,24 @@
+package com.nbu.medicalrecord.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Pre-aggregated examination count per diagnosis, one row per diagnosis ever used.
+ * The frequency reports and ICD-10 rollups read this instead of grouping over all examinations.
+ */
+@Entity
+@Table(name = "diagnosis_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DiagnosisCounter {
+
+    @Id
+    private Long diagnosisId;
+
+    @Column(nullable = false)
+    private long examinationCount;
+}
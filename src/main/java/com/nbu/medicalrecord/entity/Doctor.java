@@ -2,12 +2,19 @@ package com.nbu.medicalrecord.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@NamedEntityGraph(name = Doctor.WITH_SPECIALTIES, attributeNodes = @NamedAttributeNode("specialties"))
 @Table(name = "doctors")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctors")
+// Doctors referenced from a page of patients or examinations are loaded in batches, not one by one
+@BatchSize(size = 50)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,8 +22,12 @@ import java.util.Set;
 @Builder
 public class Doctor {
 
+    // Lists that render specialties fetch them in the same statement as the doctors
+    public static final String WITH_SPECIALTIES = "Doctor.withSpecialties";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctors_seq")
+    @SequenceGenerator(name = "doctors_seq", sequenceName = "doctors_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -32,7 +43,9 @@ public class Doctor {
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctorSpecialties")
+    @BatchSize(size = 50)
     @JoinTable(name = "doctor_specialties", joinColumns = @JoinColumn(name = "doctor_id"), inverseJoinColumns = @JoinColumn(name = "specialty_id"))
     @Builder.Default
     private Set<Specialty> specialties = new HashSet<>();
@@ -0,0 +1,27 @@
+package com.nbu.medicalrecord.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Pre-aggregated per-doctor totals, kept current by the examination and sick leave
+ * write paths so the doctor reports do not have to group over all examinations.
+ */
+@Entity
+@Table(name = "doctor_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorCounter {
+
+    @Id
+    private Long doctorId;
+
+    @Column(nullable = false)
+    private long examinationCount;
+
+    @Column(nullable = false)
+    private long sickLeaveCount;
+}
@@ -6,7 +6,17 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "examinations")
+@NamedEntityGraph(name = Examination.WITH_DETAILS, attributeNodes = {
+        @NamedAttributeNode("patient"),
+        @NamedAttributeNode("doctor"),
+        @NamedAttributeNode("diagnosis"),
+        @NamedAttributeNode("sickLeave")
+})
+@Table(name = "examinations", indexes = {
+        @Index(name = "idx_examinations_date_id", columnList = "examination_date desc, id desc"),
+        @Index(name = "idx_examinations_doctor_date", columnList = "doctor_id, examination_date, id"),
+        @Index(name = "idx_examinations_patient_date", columnList = "patient_id, examination_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,8 +24,12 @@ import java.time.LocalDate;
 @Builder
 public class Examination {
 
+    // Everything toResponse() reads, fetched in the same statement as the examination
+    public static final String WITH_DETAILS = "Examination.withDetails";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "examinations_seq")
+    @SequenceGenerator(name = "examinations_seq", sequenceName = "examinations_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,12 +47,9 @@ public class Examination {
     @JoinColumn(name = "diagnosis_id")
     private Diagnosis diagnosis;
 
-    @Column(length = 2000)
-    private String treatment; // Prescribed treatment (лечение)
-
-    @Column(length = 1000)
-    private String prescription; // Prescription details (рецепта)
+    // Treatment and prescription live in ExaminationDetail
 
-    @OneToOne(mappedBy = "examination", cascade = CascadeType.ALL)
+    // Lazy through bytecode enhancement; WITH_DETAILS fetches it where it is rendered
+    @OneToOne(mappedBy = "examination", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private SickLeave sickLeave;
 }
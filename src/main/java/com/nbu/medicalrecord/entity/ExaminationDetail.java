@@ -0,0 +1,28 @@
+package com.nbu.medicalrecord.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Free-text part of an examination, kept out of the examinations table so list and report scans
+ * read only the narrow row. Loaded only for the examination view and edit; absent when both fields are empty.
+ */
+@Entity
+@Table(name = "examination_details")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExaminationDetail {
+
+    // Same id as the examination; the row is deleted with it (ON DELETE CASCADE)
+    @Id
+    private Long examinationId;
+
+    @Column(length = 2000)
+    private String treatment; // Prescribed treatment (лечение)
+
+    @Column(length = 1000)
+    private String prescription; // Prescription details (рецепта)
+}
@@ -8,7 +8,9 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "patients")
+@Table(name = "patients", indexes = {
+        @Index(name = "idx_patients_name", columnList = "name")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +19,8 @@ import java.util.Set;
 public class Patient {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patients_seq")
+    @SequenceGenerator(name = "patients_seq", sequenceName = "patients_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -45,9 +48,18 @@ public class Patient {
      * Checks if health insurance is paid for the last 6 months
      */
     public boolean hasValidInsurance() {
+        return hasValidInsurance(lastInsurancePayment);
+    }
+
+    public static boolean hasValidInsurance(LocalDate lastInsurancePayment) {
         if (lastInsurancePayment == null) {
             return false;
         }
-        return lastInsurancePayment.isAfter(LocalDate.now().minusMonths(6));
+        return lastInsurancePayment.isAfter(insuredAfter());
+    }
+
+    // Payments after this date keep the insurance valid
+    public static LocalDate insuredAfter() {
+        return LocalDate.now().minusMonths(6);
     }
 }
@@ -15,7 +15,8 @@ import java.time.LocalDate;
 public class SickLeave {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sick_leaves_seq")
+    @SequenceGenerator(name = "sick_leaves_seq", sequenceName = "sick_leaves_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -24,7 +25,7 @@ public class SickLeave {
     @Column(nullable = false)
     private int numberOfDays;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "examination_id", nullable = false)
     private Examination examination;
 
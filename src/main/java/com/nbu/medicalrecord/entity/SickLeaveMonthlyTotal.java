@@ -0,0 +1,45 @@
+package com.nbu.medicalrecord.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Pre-aggregated sick leave totals per calendar month of the start date,
+ * kept current by the sick leave write paths.
+ */
+@Entity
+@Table(name = "sick_leave_monthly_totals")
+@IdClass(SickLeaveMonthlyTotal.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SickLeaveMonthlyTotal {
+
+    @Id
+    @Column(name = "stat_year")
+    private int year;
+
+    @Id
+    @Column(name = "stat_month")
+    private int month;
+
+    @Column(nullable = false)
+    private long sickLeaveCount;
+
+    @Column(nullable = false)
+    private long totalDays;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private int year;
+        private int month;
+    }
+}
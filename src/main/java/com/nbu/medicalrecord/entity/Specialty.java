@@ -2,12 +2,15 @@ package com.nbu.medicalrecord.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "specialties")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "specialties")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +19,8 @@ import java.util.Set;
 public class Specialty {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "specialties_seq")
+    @SequenceGenerator(name = "specialties_seq", sequenceName = "specialties_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
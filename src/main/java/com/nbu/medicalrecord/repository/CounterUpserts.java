@@ -0,0 +1,85 @@
+package com.nbu.medicalrecord.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds deltas to the report counter tables with one upsert per row, so two transactions writing the first row
+ * for the same doctor, diagnosis or month both succeed. MySQL upserts atomically with ON DUPLICATE KEY UPDATE;
+ * an H2 MERGE can still lose the insert to a concurrent one and is then repeated, finding the row.
+ * Statements run through JdbcTemplate on the transaction's connection, so a failed attempt leaves
+ * the Hibernate session and the transaction usable.
+ */
+@Component
+public class CounterUpserts {
+
+    private static final String MYSQL_DOCTOR = "INSERT INTO doctor_counters " +
+            "(doctor_id, examination_count, sick_leave_count) VALUES (?, ?, ?) AS v " +
+            "ON DUPLICATE KEY UPDATE examination_count = examination_count + v.examination_count, " +
+            "sick_leave_count = sick_leave_count + v.sick_leave_count";
+    private static final String MERGE_DOCTOR = "MERGE INTO doctor_counters c " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT))) " +
+            "v (doctor_id, examination_count, sick_leave_count) ON c.doctor_id = v.doctor_id " +
+            "WHEN MATCHED THEN UPDATE SET examination_count = c.examination_count + v.examination_count, " +
+            "sick_leave_count = c.sick_leave_count + v.sick_leave_count " +
+            "WHEN NOT MATCHED THEN INSERT (doctor_id, examination_count, sick_leave_count) " +
+            "VALUES (v.doctor_id, v.examination_count, v.sick_leave_count)";
+
+    private static final String MYSQL_DIAGNOSIS = "INSERT INTO diagnosis_counters " +
+            "(diagnosis_id, examination_count) VALUES (?, ?) AS v " +
+            "ON DUPLICATE KEY UPDATE examination_count = examination_count + v.examination_count";
+    private static final String MERGE_DIAGNOSIS = "MERGE INTO diagnosis_counters c " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT))) " +
+            "v (diagnosis_id, examination_count) ON c.diagnosis_id = v.diagnosis_id " +
+            "WHEN MATCHED THEN UPDATE SET examination_count = c.examination_count + v.examination_count " +
+            "WHEN NOT MATCHED THEN INSERT (diagnosis_id, examination_count) " +
+            "VALUES (v.diagnosis_id, v.examination_count)";
+
+    private static final String MYSQL_SICK_LEAVE_MONTH = "INSERT INTO sick_leave_monthly_totals " +
+            "(stat_year, stat_month, sick_leave_count, total_days) VALUES (?, ?, ?, ?) AS v " +
+            "ON DUPLICATE KEY UPDATE sick_leave_count = sick_leave_count + v.sick_leave_count, " +
+            "total_days = total_days + v.total_days";
+    private static final String MERGE_SICK_LEAVE_MONTH = "MERGE INTO sick_leave_monthly_totals t " +
+            "USING (VALUES (CAST(? AS INTEGER), CAST(? AS INTEGER), CAST(? AS BIGINT), CAST(? AS BIGINT))) " +
+            "v (stat_year, stat_month, sick_leave_count, total_days) " +
+            "ON t.stat_year = v.stat_year AND t.stat_month = v.stat_month " +
+            "WHEN MATCHED THEN UPDATE SET sick_leave_count = t.sick_leave_count + v.sick_leave_count, " +
+            "total_days = t.total_days + v.total_days " +
+            "WHEN NOT MATCHED THEN INSERT (stat_year, stat_month, sick_leave_count, total_days) " +
+            "VALUES (v.stat_year, v.stat_month, v.sick_leave_count, v.total_days)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean mysql;
+
+    public CounterUpserts(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mysql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof MySQLDialect;
+    }
+
+    public void addToDoctor(Long doctorId, long examinations, long sickLeaves) {
+        upsert(mysql ? MYSQL_DOCTOR : MERGE_DOCTOR, doctorId, examinations, sickLeaves);
+    }
+
+    public void addToDiagnosis(Long diagnosisId, long examinations) {
+        upsert(mysql ? MYSQL_DIAGNOSIS : MERGE_DIAGNOSIS, diagnosisId, examinations);
+    }
+
+    public void addToSickLeaveMonth(int year, int month, long sickLeaves, long days) {
+        upsert(mysql ? MYSQL_SICK_LEAVE_MONTH : MERGE_SICK_LEAVE_MONTH, year, month, sickLeaves, days);
+    }
+
+    private void upsert(String sql, Object... args) {
+        try {
+            jdbcTemplate.update(sql, args);
+        } catch (DuplicateKeyException e) {
+            // A concurrent transaction committed the row between our match and insert; it matches now
+            jdbcTemplate.update(sql, args);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.nbu.medicalrecord.repository;
+
+import com.nbu.medicalrecord.entity.DiagnosisCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DiagnosisCounterRepository extends JpaRepository<DiagnosisCounter, Long> {
+
+    // Most frequently diagnosed diagnoses
+    @Query("SELECT d, c.examinationCount FROM DiagnosisCounter c " +
+            "JOIN Diagnosis d ON d.id = c.diagnosisId " +
+            "WHERE c.examinationCount > 0 " +
+            "ORDER BY c.examinationCount DESC")
+    List<Object[]> findMostFrequentDiagnoses();
+
+    // Code and examination count of every diagnosis in use, input for the ICD-10 rollups
+    @Query("SELECT d.code, c.examinationCount FROM DiagnosisCounter c " +
+            "JOIN Diagnosis d ON d.id = c.diagnosisId " +
+            "WHERE c.examinationCount > 0")
+    List<Object[]> findCodeCounts();
+
+    // Rebuild: every diagnosis' examination count, in one statement
+    @Modifying
+    @Query("INSERT INTO DiagnosisCounter (diagnosisId, examinationCount) " +
+            "SELECT e.diagnosis.id, COUNT(e) FROM Examination e WHERE e.diagnosis IS NOT NULL " +
+            "GROUP BY e.diagnosis.id")
+    int insertFromExaminations();
+
+    @Modifying
+    @Query("DELETE FROM DiagnosisCounter c WHERE c.diagnosisId = :diagnosisId")
+    void deleteByDiagnosisId(@Param("diagnosisId") Long diagnosisId);
+}
@@ -3,10 +3,13 @@ package com.nbu.medicalrecord.repository;
 import com.nbu.medicalrecord.entity.Diagnosis;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface DiagnosisRepository extends JpaRepository<Diagnosis, Long> {
@@ -15,12 +18,7 @@ public interface DiagnosisRepository extends JpaRepository<Diagnosis, Long> {
 
     boolean existsByCode(String code);
 
-    List<Diagnosis> findByNameContainingIgnoreCase(String name);
-
-    // Most frequently diagnosed diagnosis/diagnoses
-    @Query("SELECT d, COUNT(e) as cnt FROM Diagnosis d " +
-            "JOIN d.examinations e " +
-            "GROUP BY d " +
-            "ORDER BY cnt DESC")
-    List<Object[]> findMostFrequentDiagnoses();
+    // Which of the given ids exist - one query for a whole import chunk
+    @Query("SELECT d.id FROM Diagnosis d WHERE d.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,37 @@
+package com.nbu.medicalrecord.repository;
+
+import com.nbu.medicalrecord.entity.DoctorCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DoctorCounterRepository extends JpaRepository<DoctorCounter, Long> {
+
+    // Examination count per doctor, including doctors without examinations
+    @Query("SELECT d, COALESCE(c.examinationCount, 0) FROM Doctor d " +
+            "LEFT JOIN DoctorCounter c ON c.doctorId = d.id")
+    List<Object[]> findExaminationCounts();
+
+    // Doctors who issued most sick leaves
+    @Query("SELECT d, c.sickLeaveCount FROM DoctorCounter c " +
+            "JOIN Doctor d ON d.id = c.doctorId " +
+            "WHERE c.sickLeaveCount > 0 " +
+            "ORDER BY c.sickLeaveCount DESC")
+    List<Object[]> findSickLeaveCounts();
+
+    // Rebuild: every doctor's counts from examinations and their sick leaves, in one statement
+    @Modifying
+    @Query("INSERT INTO DoctorCounter (doctorId, examinationCount, sickLeaveCount) " +
+            "SELECT e.doctor.id, COUNT(e), COUNT(sl) FROM Examination e LEFT JOIN e.sickLeave sl " +
+            "GROUP BY e.doctor.id")
+    int insertFromExaminations();
+
+    @Modifying
+    @Query("DELETE FROM DoctorCounter c WHERE c.doctorId = :doctorId")
+    void deleteByDoctorId(@Param("doctorId") Long doctorId);
+}
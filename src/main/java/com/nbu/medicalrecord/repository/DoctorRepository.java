@@ -1,13 +1,18 @@
 package com.nbu.medicalrecord.repository;
 
+import com.nbu.medicalrecord.dto.DoctorDto;
 import com.nbu.medicalrecord.entity.Doctor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
@@ -16,26 +21,30 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
     boolean existsByUin(String uin);
 
+    @Override
+    @EntityGraph(Doctor.WITH_SPECIALTIES)
+    List<Doctor> findAll();
+
+    @EntityGraph(Doctor.WITH_SPECIALTIES)
     List<Doctor> findByIsGpTrue();
 
     Optional<Doctor> findByUserId(Long userId);
 
+    // Typeahead by UIN prefix or part of the name; the doctors table is small enough to scan
+    @Query("SELECT new com.nbu.medicalrecord.dto.DoctorDto$Summary(d.id, d.uin, d.name, d.isGp) FROM Doctor d " +
+            "WHERE d.uin LIKE :prefix ESCAPE '!' OR LOWER(d.name) LIKE :fragment ESCAPE '!' " +
+            "ORDER BY d.name, d.id")
+    List<DoctorDto.Summary> findSummaries(@Param("prefix") String prefix, @Param("fragment") String fragment,
+                                          Pageable pageable);
+
     // Count of patients registered with each GP
     @Query("SELECT d, COUNT(p) FROM Doctor d LEFT JOIN d.patients p WHERE d.isGp = true GROUP BY d")
     List<Object[]> countPatientsPerGp();
 
-    // Count of visits (examinations) per doctor
-    @Query("SELECT d, COUNT(e) FROM Doctor d LEFT JOIN d.examinations e GROUP BY d")
-    List<Object[]> countExaminationsPerDoctor();
-
-    // Doctors who issued most sick leaves
-    @Query("SELECT d, COUNT(sl) as cnt FROM Doctor d " +
-            "JOIN d.examinations e " +
-            "JOIN e.sickLeave sl " +
-            "GROUP BY d " +
-            "ORDER BY cnt DESC")
-    List<Object[]> findDoctorsWithMostSickLeaves();
-
     @Query("SELECT d FROM Doctor d JOIN d.specialties s WHERE s.id = :specialtyId")
     List<Doctor> findBySpecialtyId(@Param("specialtyId") Long specialtyId);
+
+    // Which of the given ids exist - one query for a whole import chunk
+    @Query("SELECT d.id FROM Doctor d WHERE d.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
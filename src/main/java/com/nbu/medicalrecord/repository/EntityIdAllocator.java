@@ -0,0 +1,35 @@
+package com.nbu.medicalrecord.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ids for rows written with plain JDBC (bulk import, synthetic data). They come from the entity's own
+ * pooled sequence generator, so they never collide with ids Hibernate assigns, and cost one sequence
+ * call per allocation block rather than one per row.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityIdAllocator {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public long[] allocate(Class<?> entityType, int count) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(entityType)
+                .getGenerator();
+        long[] ids = new long[count];
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+            }
+        }
+        return ids;
+    }
+}
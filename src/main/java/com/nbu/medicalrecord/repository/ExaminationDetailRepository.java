@@ -0,0 +1,9 @@
+package com.nbu.medicalrecord.repository;
+
+import com.nbu.medicalrecord.entity.ExaminationDetail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExaminationDetailRepository extends JpaRepository<ExaminationDetail, Long> {
+}
@@ -1,36 +1,107 @@
 package com.nbu.medicalrecord.repository;
 
+import com.nbu.medicalrecord.dto.ExaminationDto;
 import com.nbu.medicalrecord.entity.Examination;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExaminationRepository extends JpaRepository<Examination, Long> {
 
+    // Projection into ExaminationDto.Row - list and report reads never load managed entities.
+    // Patient and doctor are reached through implicit (inner) joins, so e.patient.id and e.doctor.id
+    // resolve to the foreign key columns of examinations and filters and sorts are served by its own indexes.
+    String SELECT_ROW = "SELECT new com.nbu.medicalrecord.dto.ExaminationDto$Row(" +
+            "e.id, e.examinationDate, " +
+            "e.patient.id, e.patient.name, e.patient.egn, e.patient.lastInsurancePayment, " +
+            "e.doctor.id, e.doctor.uin, e.doctor.name, e.doctor.isGp, " +
+            "dg.id, dg.code, dg.name, " +
+            "sl.id, sl.startDate, sl.numberOfDays) " +
+            "FROM Examination e " +
+            "LEFT JOIN e.diagnosis dg " +
+            "LEFT JOIN e.sickLeave sl ";
+
+    String EXPORT_FETCH_SIZE = "1000";
+
+    // Full entity for single-examination views and updates
+    @Override
+    @EntityGraph(Examination.WITH_DETAILS)
+    Optional<Examination> findById(Long id);
+
+    // First page of all examinations, newest first (keyset on examinationDate, id)
+    @Query(SELECT_ROW + "ORDER BY e.examinationDate DESC, e.id DESC")
+    List<ExaminationDto.Row> findFirstPage(Pageable pageable);
+
+    // Next page of all examinations after the given (examinationDate, id) cursor
+    @Query(SELECT_ROW +
+            "WHERE e.examinationDate < :date OR (e.examinationDate = :date AND e.id < :id) " +
+            "ORDER BY e.examinationDate DESC, e.id DESC")
+    List<ExaminationDto.Row> findPageAfter(@Param("date") LocalDate date, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_ROW + "ORDER BY e.examinationDate DESC, e.id DESC")
+    List<ExaminationDto.Row> findAllRows();
+
     // Examinations by patient
-    List<Examination> findByPatientId(Long patientId);
+    @Query(SELECT_ROW + "WHERE e.patient.id = :patientId ORDER BY e.examinationDate DESC, e.id DESC")
+    List<ExaminationDto.Row> findByPatientId(@Param("patientId") Long patientId);
 
     // Examinations by doctor
-    List<Examination> findByDoctorId(Long doctorId);
+    @Query(SELECT_ROW + "WHERE e.doctor.id = :doctorId ORDER BY e.examinationDate DESC, e.id DESC")
+    List<ExaminationDto.Row> findByDoctorId(@Param("doctorId") Long doctorId);
 
     // Examinations for all doctors in a given period
-    @Query("SELECT e FROM Examination e WHERE e.examinationDate BETWEEN :startDate AND :endDate ORDER BY e.doctor.id, e.examinationDate")
-    List<Examination> findAllInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @Query(SELECT_ROW + "WHERE e.examinationDate BETWEEN :startDate AND :endDate ORDER BY e.doctor.id, e.examinationDate")
+    List<ExaminationDto.Row> findAllInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Forward-only read of a period for exports; rows are fetched from the driver in chunks of EXPORT_FETCH_SIZE
+    @Query(SELECT_ROW + "WHERE e.examinationDate BETWEEN :startDate AND :endDate ORDER BY e.examinationDate, e.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ExaminationDto.Row> streamInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     // Examinations for a specific doctor in a given period
-    @Query("SELECT e FROM Examination e WHERE e.doctor.id = :doctorId AND e.examinationDate BETWEEN :startDate AND :endDate ORDER BY e.examinationDate")
-    List<Examination> findByDoctorInPeriod(@Param("doctorId") Long doctorId,
-                                            @Param("startDate") LocalDate startDate,
-                                            @Param("endDate") LocalDate endDate);
-
-    // Count examinations by patient
-    @Query("SELECT e.patient.id, COUNT(e) FROM Examination e GROUP BY e.patient.id")
-    List<Object[]> countExaminationsByPatient();
+    @Query(SELECT_ROW + "WHERE e.doctor.id = :doctorId AND e.examinationDate BETWEEN :startDate AND :endDate ORDER BY e.examinationDate")
+    List<ExaminationDto.Row> findByDoctorInPeriod(@Param("doctorId") Long doctorId,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    // Grouped-by-patient report: a page is a run of patient ids that have examinations, in id order
+    @Query("SELECT DISTINCT e.patient.id FROM Examination e ORDER BY e.patient.id")
+    List<Long> findFirstExaminedPatientIds(Pageable pageable);
+
+    @Query("SELECT DISTINCT e.patient.id FROM Examination e WHERE e.patient.id > :patientId ORDER BY e.patient.id")
+    List<Long> findExaminedPatientIdsAfter(@Param("patientId") Long patientId, Pageable pageable);
+
+    @Query(SELECT_ROW + "WHERE e.patient.id IN :patientIds ORDER BY e.patient.id, e.examinationDate, e.id")
+    List<ExaminationDto.Row> findByPatientIds(@Param("patientIds") Collection<Long> patientIds);
+
+    // All examinations ordered by patient, forward-only, so each patient's rows are contiguous
+    @Query(SELECT_ROW + "ORDER BY e.patient.id, e.examinationDate, e.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ExaminationDto.Row> streamAllOrderByPatient();
+
+    // Id-only ownership check: the examination belongs to the given patient or was performed by the given doctor
+    @Query("SELECT COUNT(e) > 0 FROM Examination e " +
+            "WHERE e.id = :id AND (e.patient.id = :patientId OR e.doctor.id = :doctorId)")
+    boolean isAccessibleBy(@Param("id") Long id, @Param("patientId") Long patientId, @Param("doctorId") Long doctorId);
 
     // Check if doctor has examined patient
     boolean existsByDoctorIdAndPatientId(Long doctorId, Long patientId);
@@ -1,17 +1,25 @@
 package com.nbu.medicalrecord.repository;
 
 import com.nbu.medicalrecord.entity.Patient;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
 
+    // The GP is rendered for every patient, so it is joined rather than loaded per row
+    @Override
+    @EntityGraph(attributePaths = "gp")
+    List<Patient> findAll();
+
     Optional<Patient> findByEgn(String egn);
 
     boolean existsByEgn(String egn);
@@ -19,16 +27,21 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     Optional<Patient> findByUserId(Long userId);
 
     // Patients with a given diagnosis
-    @Query("SELECT DISTINCT p FROM Patient p " +
-            "JOIN p.examinations e " +
-            "JOIN e.diagnosis d " +
-            "WHERE d.id = :diagnosisId")
+    @EntityGraph(attributePaths = "gp")
+    @Query("SELECT p FROM Patient p " +
+            "WHERE p.id IN (SELECT e.patient.id FROM Examination e WHERE e.diagnosis.id = :diagnosisId)")
     List<Patient> findByDiagnosisId(@Param("diagnosisId") Long diagnosisId);
 
     // Patients registered with a given GP
     List<Patient> findByGpId(Long gpId);
 
+    long countByGpId(Long gpId);
+
     // Count patients per GP
     @Query("SELECT p.gp.id, COUNT(p) FROM Patient p WHERE p.gp IS NOT NULL GROUP BY p.gp.id")
     List<Object[]> countPatientsByGp();
+
+    // Which of the given ids exist - one query for a whole import chunk
+    @Query("SELECT p.id FROM Patient p WHERE p.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
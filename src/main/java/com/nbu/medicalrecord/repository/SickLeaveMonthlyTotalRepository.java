@@ -0,0 +1,31 @@
+package com.nbu.medicalrecord.repository;
+
+import com.nbu.medicalrecord.entity.SickLeaveMonthlyTotal;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SickLeaveMonthlyTotalRepository
+        extends JpaRepository<SickLeaveMonthlyTotal, SickLeaveMonthlyTotal.Key> {
+
+    // Rebuild: every month's sick leave count and total days, in one statement
+    @Modifying
+    @Query("INSERT INTO SickLeaveMonthlyTotal (year, month, sickLeaveCount, totalDays) " +
+            "SELECT YEAR(sl.startDate), MONTH(sl.startDate), COUNT(sl), SUM(sl.numberOfDays) FROM SickLeave sl " +
+            "GROUP BY YEAR(sl.startDate), MONTH(sl.startDate)")
+    int insertFromSickLeaves();
+
+    // Month(s) with most sick leaves issued within a year range
+    @Query("SELECT t FROM SickLeaveMonthlyTotal t " +
+            "WHERE t.sickLeaveCount > 0 AND t.year BETWEEN :fromYear AND :toYear " +
+            "ORDER BY t.sickLeaveCount DESC, t.year DESC, t.month DESC")
+    List<SickLeaveMonthlyTotal> findTopMonths(@Param("fromYear") int fromYear,
+                                              @Param("toYear") int toYear,
+                                              Pageable pageable);
+}
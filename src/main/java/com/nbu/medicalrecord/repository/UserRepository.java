@@ -2,6 +2,8 @@ package com.nbu.medicalrecord.repository;
 
 import com.nbu.medicalrecord.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +14,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    // Patient or doctor name linked to the user, falling back to the username
+    @Query("SELECT COALESCE(p.name, d.name, u.username) FROM User u " +
+            "LEFT JOIN u.patient p LEFT JOIN u.doctor d WHERE u.id = :id")
+    Optional<String> findDisplayName(@Param("id") Long id);
 }
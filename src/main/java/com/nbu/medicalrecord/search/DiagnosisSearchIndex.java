@@ -0,0 +1,341 @@
+package com.nbu.medicalrecord.search;
+
+import com.nbu.medicalrecord.dto.DiagnosisDto;
+import com.nbu.medicalrecord.entity.Diagnosis;
+import com.nbu.medicalrecord.repository.DiagnosisRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory n-gram index over diagnosis code and name, replacing LIKE '%x%' table scans,
+ * plus a sorted code map for ICD-10 prefix lookups.
+ * Built on startup and kept current by DiagnosisServiceImpl; changes are applied after the transaction commits.
+ * Documents get dense int numbers, reused after edits and removals, and every posting list is a sorted int[].
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DiagnosisSearchIndex {
+
+    // Share of the query grams a candidate must contain to match when not every query word is found
+    private static final double MIN_SIMILARITY = 0.6;
+
+    private static final Comparator<Match> MATCH_ORDER = Comparator.comparingInt(Match::rank)
+            .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+            // code matches read best in code order, name matches shortest (most specific) first
+            .thenComparing(match -> match.rank() <= 1 ? match.entry().code() : "")
+            .thenComparingInt(match -> match.entry().name().length())
+            .thenComparing(match -> match.entry().diagnosis().getCode());
+
+    private final DiagnosisRepository diagnosisRepository;
+
+    private final Map<Long, Integer> docsById = new HashMap<>();
+    private final Map<String, int[]> postings = new HashMap<>();
+    // Upper-case code -> diagnosis; a prefix is a contiguous sub-map
+    private final TreeMap<String, DiagnosisDto.Response> byCode = new TreeMap<>();
+    private Entry[] docs = new Entry[0];
+    private int nextDoc;
+    // Numbers of removed diagnoses, handed to the next new one so docs[] tracks the catalog size
+    private final Deque<Integer> freeDocs = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Diagnosis> diagnoses = diagnosisRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            docsById.clear();
+            postings.clear();
+            byCode.clear();
+            docs = new Entry[Math.max(16, diagnoses.size())];
+            nextDoc = 0;
+            freeDocs.clear();
+
+            // Bulk build: collect postings in lists first instead of growing arrays one id at a time
+            Map<String, List<Integer>> lists = new HashMap<>();
+            for (Diagnosis diagnosis : diagnoses) {
+                Entry entry = entry(DiagnosisDto.Response.builder()
+                        .id(diagnosis.getId())
+                        .code(diagnosis.getCode())
+                        .name(diagnosis.getName())
+                        .description(diagnosis.getDescription())
+                        .build());
+                int doc = nextDoc++;
+                docs[doc] = entry;
+                docsById.put(diagnosis.getId(), doc);
+                byCode.put(codeKey(diagnosis.getCode()), entry.diagnosis());
+                for (String gram : entry.grams()) {
+                    lists.computeIfAbsent(gram, key -> new ArrayList<>()).add(doc);
+                }
+            }
+            lists.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Diagnosis search index built with {} diagnoses and {} grams", diagnoses.size(), postings.size());
+    }
+
+    // Adds or replaces a diagnosis once the current transaction commits
+    public void put(DiagnosisDto.Response diagnosis) {
+        Entry entry = entry(diagnosis);
+        IndexUpdates.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Integer doc = docsById.get(diagnosis.getId());
+                if (doc == null) {
+                    addDoc(entry);
+                } else {
+                    // An edit keeps the diagnosis's document number
+                    unlink(doc);
+                    link(doc, entry);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long id) {
+        IndexUpdates.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDoc(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Best matches first: exact code, code prefix, name prefix, every query word as a word prefix,
+     * every query word as a substring, then close n-gram matches that tolerate typos.
+     */
+    public List<DiagnosisDto.Response> search(String query, int limit) {
+        String normalized = TextNormalizer.normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<String> words = TextNormalizer.words(normalized);
+
+        lock.readLock().lock();
+        try {
+            // Top results only: the heap head is the worst match kept so far
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, MATCH_ORDER.reversed());
+            BitSet matched = new BitSet();
+            int strictMatches = 0;
+            // Strict pass: documents holding every gram a substring match needs
+            for (int doc : intersect(requiredGrams(words))) {
+                int rank = rank(docs[doc], normalized, words);
+                if (rank >= 0) {
+                    offer(best, new Match(docs[doc], rank, 1.0), limit);
+                    matched.set(doc);
+                    strictMatches++;
+                }
+            }
+            // Fuzzy pass only when the strict one cannot fill the page
+            if (strictMatches < limit) {
+                addSimilar(words, matched, best, limit);
+            }
+
+            return best.stream()
+                    .sorted(MATCH_ORDER)
+                    .map(match -> match.entry().diagnosis())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Diagnoses whose code starts with the prefix ("J0" -> J00..J09.x), in code order
+    public List<DiagnosisDto.Response> findByCodePrefix(String prefix, int limit) {
+        String from = codeKey(prefix);
+        if (from.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return byCode.subMap(from, true, from + Character.MAX_VALUE, false).values().stream()
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<DiagnosisDto.Response> findByCode(String code) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byCode.get(codeKey(code)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Document numbers in use, live or free
+    int capacity() {
+        lock.readLock().lock();
+        try {
+            return nextDoc;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower is better; -1 means not every query word is present
+    private static int rank(Entry entry, String query, List<String> words) {
+        if (entry.code().equals(query)) {
+            return 0;
+        }
+        if (entry.code().startsWith(query)) {
+            return 1;
+        }
+        if (entry.name().startsWith(query)) {
+            return 2;
+        }
+        if (words.stream().allMatch(word -> entry.text().contains(" " + word))) {
+            return 3;
+        }
+        return words.stream().allMatch(word -> entry.text().contains(word)) ? 4 : -1;
+    }
+
+    // Inner trigrams for words of three or more characters (substring match), the word-start grams for shorter ones
+    private static Set<String> requiredGrams(List<String> words) {
+        Set<String> grams = new HashSet<>();
+        for (String word : words) {
+            if (word.length() >= 3) {
+                for (int i = 0; i + 3 <= word.length(); i++) {
+                    grams.add(word.substring(i, i + 3));
+                }
+            } else {
+                grams.addAll(TextNormalizer.grams(word));
+            }
+        }
+        return grams;
+    }
+
+    private int[] intersect(Set<String> grams) {
+        List<int[]> lists = new ArrayList<>();
+        for (String gram : grams) {
+            int[] list = postings.get(gram);
+            if (list == null) {
+                return Postings.EMPTY;
+            }
+            lists.add(list);
+        }
+        // Shortest list first keeps every step at most as long as the rarest gram
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = Postings.intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static void offer(PriorityQueue<Match> best, Match match, int limit) {
+        if (best.size() < limit) {
+            best.add(match);
+        } else if (MATCH_ORDER.compare(match, best.peek()) < 0) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    private void addSimilar(List<String> words, BitSet matched, PriorityQueue<Match> best, int limit) {
+        Set<String> queryGrams = new HashSet<>();
+        for (String word : words) {
+            queryGrams.addAll(TextNormalizer.grams(word));
+        }
+        int[] hits = new int[nextDoc];
+        for (String gram : queryGrams) {
+            for (int doc : postings.getOrDefault(gram, Postings.EMPTY)) {
+                hits[doc]++;
+            }
+        }
+        int required = (int) Math.ceil(MIN_SIMILARITY * queryGrams.size());
+        for (int doc = 0; doc < hits.length; doc++) {
+            if (hits[doc] >= required && !matched.get(doc)) {
+                offer(best, new Match(docs[doc], 5, (double) hits[doc] / queryGrams.size()), limit);
+            }
+        }
+    }
+
+    private static Entry entry(DiagnosisDto.Response diagnosis) {
+        String code = TextNormalizer.normalize(diagnosis.getCode());
+        String name = TextNormalizer.normalize(diagnosis.getName());
+        String text = " " + code + " " + name;
+        Set<String> grams = new HashSet<>();
+        for (String word : TextNormalizer.words(text.substring(1))) {
+            grams.addAll(TextNormalizer.grams(word));
+        }
+        return new Entry(diagnosis, code, name, text, grams);
+    }
+
+    private void addDoc(Entry entry) {
+        Integer doc = freeDocs.poll();
+        if (doc == null) {
+            if (nextDoc == docs.length) {
+                docs = Arrays.copyOf(docs, Math.max(16, docs.length * 2));
+            }
+            doc = nextDoc++;
+        }
+        link(doc, entry);
+    }
+
+    private void removeDoc(Long id) {
+        Integer doc = docsById.remove(id);
+        if (doc == null) {
+            return;
+        }
+        unlink(doc);
+        docs[doc] = null;
+        freeDocs.push(doc);
+    }
+
+    private void link(int doc, Entry entry) {
+        docs[doc] = entry;
+        docsById.put(entry.diagnosis().getId(), doc);
+        byCode.put(codeKey(entry.diagnosis().getCode()), entry.diagnosis());
+        for (String gram : entry.grams()) {
+            postings.put(gram, Postings.insert(postings.getOrDefault(gram, Postings.EMPTY), doc));
+        }
+    }
+
+    private void unlink(int doc) {
+        for (String gram : docs[doc].grams()) {
+            int[] list = Postings.remove(postings.get(gram), doc);
+            if (list == null) {
+                postings.remove(gram);
+            } else {
+                postings.put(gram, list);
+            }
+        }
+        byCode.remove(codeKey(docs[doc].diagnosis().getCode()));
+    }
+
+    private static String codeKey(String code) {
+        return code == null ? "" : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record Entry(DiagnosisDto.Response diagnosis, String code, String name, String text, Set<String> grams) {
+    }
+
+    private record Match(Entry entry, int rank, double similarity) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.nbu.medicalrecord.search;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * ICD-10 chapters as category code ranges (WHO 2019 edition).
+ */
+public enum Icd10Chapter {
+    I("A00", "B99", "Някои инфекциозни и паразитни болести"),
+    II("C00", "D48", "Новообразувания"),
+    III("D50", "D89", "Болести на кръвта, кръвотворните органи и някои нарушения на имунния механизъм"),
+    IV("E00", "E90", "Болести на ендокринната система, разстройства на храненето и на обмяната на веществата"),
+    V("F00", "F99", "Психични и поведенчески разстройства"),
+    VI("G00", "G99", "Болести на нервната система"),
+    VII("H00", "H59", "Болести на окото и придатъците му"),
+    VIII("H60", "H95", "Болести на ухото и мастоидния израстък"),
+    IX("I00", "I99", "Болести на органите на кръвообращението"),
+    X("J00", "J99", "Болести на дихателната система"),
+    XI("K00", "K93", "Болести на храносмилателната система"),
+    XII("L00", "L99", "Болести на кожата и подкожната тъкан"),
+    XIII("M00", "M99", "Болести на костно-мускулната система и на съединителната тъкан"),
+    XIV("N00", "N99", "Болести на пикочо-половата система"),
+    XV("O00", "O99", "Бременност, раждане и послеродов период"),
+    XVI("P00", "P96", "Някои състояния, възникващи в перинаталния период"),
+    XVII("Q00", "Q99", "Вродени аномалии, деформации и хромозомни аберации"),
+    XVIII("R00", "R99", "Симптоми, признаци и отклонения от нормата, некласифицирани другаде"),
+    XIX("S00", "T98", "Травми, отравяния и някои други последици от въздействието на външни причини"),
+    XX("V01", "Y98", "Външни причини за заболеваемост и смъртност"),
+    XXI("Z00", "Z99", "Фактори, влияещи върху здравното състояние и контакта със здравните служби"),
+    XXII("U00", "U85", "Кодове за специални цели");
+
+    private final String first;
+    private final String last;
+    private final String title;
+
+    Icd10Chapter(String first, String last, String title) {
+        this.first = first;
+        this.last = last;
+        this.title = title;
+    }
+
+    public String getRange() {
+        return first + "–" + last;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    // Chapter of a code such as "J06.9"; empty when the code is not in any chapter range
+    public static Optional<Icd10Chapter> of(String code) {
+        String category = category(code);
+        for (Icd10Chapter chapter : values()) {
+            if (category.compareTo(chapter.first) >= 0 && category.compareTo(chapter.last) <= 0) {
+                return Optional.of(chapter);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Three-character category of a code: "j06.9" -> "J06"
+    public static String category(String code) {
+        String normalized = code.trim().toUpperCase(Locale.ROOT);
+        int dot = normalized.indexOf('.');
+        String category = dot >= 0 ? normalized.substring(0, dot) : normalized;
+        return category.length() > 3 ? category.substring(0, 3) : category;
+    }
+}
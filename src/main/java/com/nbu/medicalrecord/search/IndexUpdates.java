@@ -0,0 +1,27 @@
+package com.nbu.medicalrecord.search;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory index changes until the surrounding transaction commits,
+ * so a rolled-back write never becomes searchable.
+ */
+final class IndexUpdates {
+
+    private IndexUpdates() {
+    }
+
+    static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
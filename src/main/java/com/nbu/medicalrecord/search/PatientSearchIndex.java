@@ -0,0 +1,258 @@
+package com.nbu.medicalrecord.search;
+
+import com.nbu.medicalrecord.dto.PatientDto;
+import com.nbu.medicalrecord.entity.Patient;
+import com.nbu.medicalrecord.repository.PatientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory autocomplete index over patient name and EGN.
+ * Name words are keyed by their Latin transliteration in a sorted map, so a Cyrillic or Latin prefix
+ * of any word is one contiguous key range; EGNs are kept in a sorted map of their own.
+ * Built on startup and kept current by PatientServiceImpl and UserServiceImpl; changes are applied after the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PatientSearchIndex {
+
+    private static final Comparator<Match> MATCH_ORDER = Comparator.comparingInt(Match::rank)
+            .thenComparing(match -> match.entry().name())
+            .thenComparing(match -> match.entry().id());
+
+    private final PatientRepository patientRepository;
+
+    private final Map<Long, Integer> docsById = new HashMap<>();
+    // Transliterated name word -> documents containing it
+    private final TreeMap<String, int[]> byWord = new TreeMap<>();
+    private final TreeMap<String, Integer> byEgn = new TreeMap<>();
+    private Entry[] docs = new Entry[0];
+    private int nextDoc;
+    // Numbers of removed patients, handed to the next new one so docs[] tracks the patient count
+    private final Deque<Integer> freeDocs = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Patient> patients = patientRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            docsById.clear();
+            byWord.clear();
+            byEgn.clear();
+            docs = new Entry[Math.max(16, patients.size())];
+            nextDoc = 0;
+            freeDocs.clear();
+
+            Map<String, List<Integer>> lists = new HashMap<>();
+            for (Patient patient : patients) {
+                Entry entry = entry(patient.getId(), patient.getName(), patient.getEgn(), patient.getLastInsurancePayment());
+                int doc = nextDoc++;
+                docs[doc] = entry;
+                docsById.put(entry.id(), doc);
+                byEgn.put(entry.egn(), doc);
+                for (String word : entry.words()) {
+                    lists.computeIfAbsent(word, key -> new ArrayList<>()).add(doc);
+                }
+            }
+            lists.forEach((word, list) -> byWord.put(word, list.stream().mapToInt(Integer::intValue).toArray()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Patient search index built with {} patients and {} name words", patients.size(), byWord.size());
+    }
+
+    // Adds or replaces a patient once the current transaction commits
+    public void put(Long id, String name, String egn, LocalDate lastInsurancePayment) {
+        Entry entry = entry(id, name, egn, lastInsurancePayment);
+        IndexUpdates.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Integer doc = docsById.get(id);
+                if (doc == null) {
+                    addDoc(entry);
+                } else {
+                    // An edit keeps the patient's document number
+                    unlink(doc);
+                    link(doc, entry);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long id) {
+        IndexUpdates.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDoc(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * A query of digits is an EGN prefix, answered in EGN order. Anything else is matched word by word:
+     * every query word must be a prefix of some name word, in either alphabet.
+     * Best matches first: the whole name, a name starting with the query, then any word order.
+     */
+    public List<PatientDto.Summary> search(String query, int limit) {
+        String normalized = TextNormalizer.normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        LocalDate insuredAfter = Patient.insuredAfter();
+
+        lock.readLock().lock();
+        try {
+            if (normalized.chars().allMatch(Character::isDigit)) {
+                return byEgn.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values().stream()
+                        .limit(limit)
+                        .map(doc -> docs[doc].summary(insuredAfter))
+                        .collect(Collectors.toList());
+            }
+
+            String latin = TextNormalizer.toLatin(normalized);
+            BitSet candidates = null;
+            for (String word : TextNormalizer.words(latin)) {
+                BitSet withPrefix = new BitSet(nextDoc);
+                for (int[] list : byWord.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                    for (int doc : list) {
+                        withPrefix.set(doc);
+                    }
+                }
+                if (candidates == null) {
+                    candidates = withPrefix;
+                } else {
+                    candidates.and(withPrefix);
+                }
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Top results only: the heap head is the worst match kept so far
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, MATCH_ORDER.reversed());
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                Match match = new Match(docs[doc], rank(docs[doc], latin));
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (MATCH_ORDER.compare(match, best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+            return best.stream()
+                    .sorted(MATCH_ORDER)
+                    .map(match -> match.entry().summary(insuredAfter))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Document numbers in use, live or free
+    int capacity() {
+        lock.readLock().lock();
+        try {
+            return nextDoc;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower is better
+    private static int rank(Entry entry, String latinQuery) {
+        if (entry.latinName().equals(latinQuery)) {
+            return 0;
+        }
+        return entry.latinName().startsWith(latinQuery) ? 1 : 2;
+    }
+
+    private static Entry entry(Long id, String name, String egn, LocalDate lastInsurancePayment) {
+        String latinName = TextNormalizer.toLatin(TextNormalizer.normalize(name));
+        List<String> words = TextNormalizer.words(latinName).stream()
+                .distinct()
+                .collect(Collectors.toList());
+        return new Entry(id, name, egn, lastInsurancePayment, latinName, words);
+    }
+
+    private void addDoc(Entry entry) {
+        Integer doc = freeDocs.poll();
+        if (doc == null) {
+            if (nextDoc == docs.length) {
+                docs = Arrays.copyOf(docs, Math.max(16, docs.length * 2));
+            }
+            doc = nextDoc++;
+        }
+        link(doc, entry);
+    }
+
+    private void removeDoc(Long id) {
+        Integer doc = docsById.remove(id);
+        if (doc == null) {
+            return;
+        }
+        unlink(doc);
+        docs[doc] = null;
+        freeDocs.push(doc);
+    }
+
+    private void link(int doc, Entry entry) {
+        docs[doc] = entry;
+        docsById.put(entry.id(), doc);
+        byEgn.put(entry.egn(), doc);
+        for (String word : entry.words()) {
+            byWord.put(word, Postings.insert(byWord.getOrDefault(word, Postings.EMPTY), doc));
+        }
+    }
+
+    private void unlink(int doc) {
+        for (String word : docs[doc].words()) {
+            int[] list = Postings.remove(byWord.get(word), doc);
+            if (list == null) {
+                byWord.remove(word);
+            } else {
+                byWord.put(word, list);
+            }
+        }
+        byEgn.remove(docs[doc].egn(), doc);
+    }
+
+    private record Entry(Long id, String name, String egn, LocalDate lastInsurancePayment,
+                         String latinName, List<String> words) {
+
+        PatientDto.Summary summary(LocalDate insuredAfter) {
+            return PatientDto.Summary.builder()
+                    .id(id)
+                    .name(name)
+                    .egn(egn)
+                    .hasValidInsurance(lastInsurancePayment != null && lastInsurancePayment.isAfter(insuredAfter))
+                    .build();
+        }
+    }
+
+    private record Match(Entry entry, int rank) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.nbu.medicalrecord.search;
+
+import java.util.Arrays;
+
+/**
+ * Operations on posting lists: ascending int[] of document numbers.
+ */
+final class Postings {
+
+    static final int[] EMPTY = new int[0];
+
+    private Postings() {
+    }
+
+    // Reused document numbers can land in the middle, so the list stays sorted
+    static int[] insert(int[] list, int doc) {
+        int index = Arrays.binarySearch(list, doc);
+        if (index >= 0) {
+            return list;
+        }
+        index = -index - 1;
+        int[] grown = new int[list.length + 1];
+        System.arraycopy(list, 0, grown, 0, index);
+        grown[index] = doc;
+        System.arraycopy(list, index, grown, index + 1, list.length - index);
+        return grown;
+    }
+
+    // Null when the list becomes empty
+    static int[] remove(int[] list, int doc) {
+        int index = Arrays.binarySearch(list, doc);
+        if (index < 0) {
+            return list;
+        }
+        if (list.length == 1) {
+            return null;
+        }
+        int[] shrunk = new int[list.length - 1];
+        System.arraycopy(list, 0, shrunk, 0, index);
+        System.arraycopy(list, index + 1, shrunk, index, list.length - index - 1);
+        return shrunk;
+    }
+
+    // Merge of two sorted lists; the longer one is skipped through with exponential search
+    static int[] intersect(int[] shorter, int[] longer) {
+        int[] result = new int[shorter.length];
+        int size = 0;
+        int from = 0;
+        for (int doc : shorter) {
+            int step = 1;
+            while (from + step < longer.length && longer[from + step] < doc) {
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(longer, from, Math.min(from + step + 1, longer.length), doc);
+            if (index >= 0) {
+                result[size++] = doc;
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+            if (from >= longer.length) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
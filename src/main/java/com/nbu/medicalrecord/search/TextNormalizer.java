@@ -0,0 +1,93 @@
+package com.nbu.medicalrecord.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Folds text for the in-memory search indexes: lower case (Cyrillic included), ё → е,
+ * and every run of characters other than letters and digits collapsed to a single space.
+ */
+public final class TextNormalizer {
+
+    // а..я in code point order; ы and э are not Bulgarian but show up in Russian names
+    private static final String[] CYRILLIC_TO_LATIN = {
+            "a", "b", "v", "g", "d", "e", "zh", "z", "i", "y", "k", "l", "m", "n", "o", "p",
+            "r", "s", "t", "u", "f", "h", "ts", "ch", "sh", "sht", "a", "y", "y", "e", "yu", "ya"
+    };
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(c == 'ё' ? 'е' : c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Escapes LIKE wildcards for queries declared with ESCAPE '!'
+    public static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    /**
+     * Transliterates normalized Cyrillic to Latin using the official Bulgarian system
+     * (ж → zh, ц → ts, ч → ch, ш → sh, щ → sht, ъ → a, ю → yu, я → ya), so "Иван" and "Ivan" meet on the same key.
+     * Latin letters and digits pass through unchanged.
+     */
+    public static String toLatin(String normalized) {
+        StringBuilder latin = new StringBuilder(normalized.length() + 4);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= 'а' && c <= 'я') {
+                latin.append(CYRILLIC_TO_LATIN[c - 'а']);
+            } else {
+                latin.append(c);
+            }
+        }
+        return latin.toString();
+    }
+
+    public static List<String> words(String normalized) {
+        List<String> words = new ArrayList<>();
+        int start = 0;
+        while (start < normalized.length()) {
+            int end = normalized.indexOf(' ', start);
+            if (end < 0) {
+                end = normalized.length();
+            }
+            words.add(normalized.substring(start, end));
+            start = end + 1;
+        }
+        return words;
+    }
+
+    /**
+     * Grams of one word, padded with a leading space so that word starts are indexed separately:
+     * the start bigram (" x") plus every trigram of " " + word.
+     */
+    public static List<String> grams(String word) {
+        String padded = " " + word;
+        List<String> grams = new ArrayList<>(padded.length());
+        grams.add(padded.substring(0, Math.min(2, padded.length())));
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
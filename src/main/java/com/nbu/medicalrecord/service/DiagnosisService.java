@@ -15,7 +15,8 @@ public interface DiagnosisService {
 
     List<DiagnosisDto.Response> getAll();
 
-    List<DiagnosisDto.Response> searchByName(String name);
+    // Ranked matches on code or name from the in-memory index, best first
+    List<DiagnosisDto.Response> searchByName(String name, int limit);
 
     DiagnosisDto.Response update(Long id, DiagnosisDto.Request request);
 
@@ -23,4 +24,13 @@ public interface DiagnosisService {
 
     // Reports
     List<ReportDto.DiagnosisFrequency> getMostFrequentDiagnoses();
+
+    // ICD-10 typeahead: diagnoses whose code starts with the prefix, in code order
+    List<DiagnosisDto.Response> findByCodePrefix(String prefix, int limit);
+
+    /**
+     * Examination counts rolled up to the given level, most frequent first.
+     * from/to optionally restrict the codes to an inclusive range such as a block (J00 to J06).
+     */
+    List<ReportDto.CodeGroupFrequency> getFrequencyRollup(ReportDto.RollupLevel level, String from, String to);
 }
@@ -15,6 +15,9 @@ public interface DoctorService {
 
     List<DoctorDto.Response> getAll();
 
+    // Typeahead: top matches by UIN prefix or part of the name
+    List<DoctorDto.Summary> search(String query, int limit);
+
     List<DoctorDto.Response> getAllGps();
 
     DoctorDto.Response update(Long id, DoctorDto.Request request);
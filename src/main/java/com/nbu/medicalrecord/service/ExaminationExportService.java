@@ -0,0 +1,15 @@
+package com.nbu.medicalrecord.service;
+
+import com.nbu.medicalrecord.dto.ExaminationDto;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExaminationExportService {
+
+    // Writes all examinations in the period as flat rows; memory use does not depend on the period length
+    void exportInPeriod(LocalDate startDate, LocalDate endDate, ExaminationDto.ExportFormat format, OutputStream output);
+
+    // Grouped-by-patient report as NDJSON, one ReportDto.PatientExaminations per line
+    void exportGroupedByPatient(OutputStream output);
+}
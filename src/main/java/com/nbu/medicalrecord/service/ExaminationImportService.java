@@ -0,0 +1,11 @@
+package com.nbu.medicalrecord.service;
+
+import com.nbu.medicalrecord.dto.ExaminationDto;
+
+import java.io.InputStream;
+
+public interface ExaminationImportService {
+
+    // Imports newline-delimited ExaminationDto.Request JSON objects; invalid rows are reported, not fatal
+    ExaminationDto.BulkResult importNdjson(InputStream input);
+}
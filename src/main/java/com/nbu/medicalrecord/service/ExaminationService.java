@@ -1,10 +1,12 @@
 package com.nbu.medicalrecord.service;
 
+import com.nbu.medicalrecord.dto.CursorPage;
 import com.nbu.medicalrecord.dto.ExaminationDto;
 import com.nbu.medicalrecord.dto.ReportDto;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ExaminationService {
 
@@ -14,6 +16,9 @@ public interface ExaminationService {
 
     List<ExaminationDto.Response> getAll();
 
+    // Keyset-paginated listing, newest first; cursor is null for the first page
+    CursorPage<ExaminationDto.Response> getPage(String cursor, int size);
+
     ExaminationDto.Response update(Long id, ExaminationDto.Request request);
 
     void delete(Long id);
@@ -29,5 +34,9 @@ public interface ExaminationService {
 
     List<ExaminationDto.Response> getByDoctorInPeriod(Long doctorId, LocalDate startDate, LocalDate endDate);
 
-    List<ReportDto.PatientExaminations> getExaminationsGroupedByPatient();
+    // Keyset-paginated by patient id; size is the number of patients per page
+    CursorPage<ReportDto.PatientExaminations> getExaminationsGroupedByPatient(String cursor, int size);
+
+    // Passes every patient's examinations to the consumer one patient at a time, in patient id order
+    void forEachPatientExaminations(Consumer<ReportDto.PatientExaminations> consumer);
 }
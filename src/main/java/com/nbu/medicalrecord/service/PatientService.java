@@ -14,6 +14,9 @@ public interface PatientService {
 
     List<PatientDto.Response> getAll();
 
+    // Typeahead: top matches by EGN prefix (digits) or name prefix
+    List<PatientDto.Summary> search(String query, int limit);
+
     PatientDto.Response update(Long id, PatientDto.Request request);
 
     void delete(Long id);
@@ -15,6 +15,6 @@ public interface SickLeaveService {
 
     void delete(Long id);
 
-    // Reports
-    List<ReportDto.MonthSickLeaveCount> getMonthsWithMostSickLeaves();
+    // Reports - top months by sick leaves issued, optionally limited to a year range
+    List<ReportDto.MonthSickLeaveCount> getMonthsWithMostSickLeaves(Integer fromYear, Integer toYear, int limit);
 }
@@ -0,0 +1,18 @@
+package com.nbu.medicalrecord.service;
+
+import java.time.LocalDate;
+
+public interface StatisticsService {
+
+    // Applies a delta to the doctor's examination and sick leave counters
+    void adjustDoctorCounters(Long doctorId, long examinations, long sickLeaves);
+
+    // Applies a delta to the diagnosis's examination counter; a null diagnosis is ignored
+    void adjustDiagnosisCounter(Long diagnosisId, long examinations);
+
+    // Applies a delta to the monthly rollup of the month containing startDate
+    void adjustSickLeaveMonth(LocalDate startDate, long sickLeaves, long days);
+
+    // Recomputes all counters from the examination and sick leave tables
+    void rebuild();
+}
@@ -12,6 +12,8 @@ public interface UserService {
 
     UserDto.Response getByUsername(String username);
 
+    String getDisplayName(Long userId);
+
     List<UserDto.Response> getAll();
 
     void delete(Long id);
@@ -1,17 +1,25 @@
 package com.nbu.medicalrecord.service.impl;
 
+import com.nbu.medicalrecord.config.CacheConfig;
 import com.nbu.medicalrecord.dto.DiagnosisDto;
 import com.nbu.medicalrecord.dto.ReportDto;
 import com.nbu.medicalrecord.entity.Diagnosis;
 import com.nbu.medicalrecord.exception.DuplicateResourceException;
 import com.nbu.medicalrecord.exception.ResourceNotFoundException;
+import com.nbu.medicalrecord.exception.ValidationException;
+import com.nbu.medicalrecord.repository.DiagnosisCounterRepository;
 import com.nbu.medicalrecord.repository.DiagnosisRepository;
+import com.nbu.medicalrecord.search.DiagnosisSearchIndex;
+import com.nbu.medicalrecord.search.Icd10Chapter;
 import com.nbu.medicalrecord.service.DiagnosisService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,9 +27,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class DiagnosisServiceImpl implements DiagnosisService {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final DiagnosisRepository diagnosisRepository;
+    private final DiagnosisCounterRepository diagnosisCounterRepository;
+    private final DiagnosisSearchIndex diagnosisSearchIndex;
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.DIAGNOSES, CacheConfig.DIAGNOSIS_BY_CODE, CacheConfig.REPORTS}, allEntries = true)
     public DiagnosisDto.Response create(DiagnosisDto.Request request) {
         if (diagnosisRepository.existsByCode(request.getCode())) {
             throw new DuplicateResourceException("Диагноза с код '" + request.getCode() + "' вече съществува");
@@ -33,7 +46,9 @@ public class DiagnosisServiceImpl implements DiagnosisService {
                 .description(request.getDescription())
                 .build();
 
-        return toResponse(diagnosisRepository.save(diagnosis));
+        DiagnosisDto.Response response = toResponse(diagnosisRepository.save(diagnosis));
+        diagnosisSearchIndex.put(response);
+        return response;
     }
 
     @Override
@@ -44,6 +59,7 @@ public class DiagnosisServiceImpl implements DiagnosisService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DIAGNOSIS_BY_CODE, key = "#code")
     public DiagnosisDto.Response getByCode(String code) {
         return toResponse(diagnosisRepository.findByCode(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Диагноза с код '" + code + "' не е намерена")));
@@ -51,6 +67,7 @@ public class DiagnosisServiceImpl implements DiagnosisService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.DIAGNOSES)
     public List<DiagnosisDto.Response> getAll() {
         return diagnosisRepository.findAll().stream()
                 .map(this::toResponse)
@@ -58,14 +75,17 @@ public class DiagnosisServiceImpl implements DiagnosisService {
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<DiagnosisDto.Response> searchByName(String name) {
-        return diagnosisRepository.findByNameContainingIgnoreCase(name).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<DiagnosisDto.Response> searchByName(String name, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ValidationException("Броят на резултатите трябва да бъде между 1 и " + MAX_SEARCH_RESULTS);
+        }
+        // Served from the in-memory index, no database access
+        return diagnosisSearchIndex.search(name, limit);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.DIAGNOSES, CacheConfig.DIAGNOSIS_BY_CODE, CacheConfig.REPORTS}, allEntries = true)
     public DiagnosisDto.Response update(Long id, DiagnosisDto.Request request) {
         Diagnosis diagnosis = findById(id);
 
@@ -78,19 +98,25 @@ public class DiagnosisServiceImpl implements DiagnosisService {
         diagnosis.setName(request.getName());
         diagnosis.setDescription(request.getDescription());
 
-        return toResponse(diagnosisRepository.save(diagnosis));
+        DiagnosisDto.Response response = toResponse(diagnosisRepository.save(diagnosis));
+        diagnosisSearchIndex.put(response);
+        return response;
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.DIAGNOSES, CacheConfig.DIAGNOSIS_BY_CODE, CacheConfig.REPORTS}, allEntries = true)
     public void delete(Long id) {
         Diagnosis diagnosis = findById(id);
+        diagnosisCounterRepository.deleteByDiagnosisId(id);
         diagnosisRepository.delete(diagnosis);
+        diagnosisSearchIndex.remove(id);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.REPORTS, keyGenerator = CacheConfig.REPORT_KEY, sync = true)
     public List<ReportDto.DiagnosisFrequency> getMostFrequentDiagnoses() {
-        return diagnosisRepository.findMostFrequentDiagnoses().stream()
+        return diagnosisCounterRepository.findMostFrequentDiagnoses().stream()
                 .map(row -> ReportDto.DiagnosisFrequency.builder()
                         .diagnosis(toResponse((Diagnosis) row[0]))
                         .frequency((Long) row[1])
@@ -98,6 +124,69 @@ public class DiagnosisServiceImpl implements DiagnosisService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<DiagnosisDto.Response> findByCodePrefix(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ValidationException("Броят на резултатите трябва да бъде между 1 и " + MAX_SEARCH_RESULTS);
+        }
+        return diagnosisSearchIndex.findByCodePrefix(prefix, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.REPORTS, keyGenerator = CacheConfig.REPORT_KEY, sync = true)
+    public List<ReportDto.CodeGroupFrequency> getFrequencyRollup(ReportDto.RollupLevel level, String from, String to) {
+        // One row per diagnosis in use, sorted by code so a range is a contiguous sub-map
+        TreeMap<String, Long> codeCounts = new TreeMap<>();
+        for (Object[] row : diagnosisCounterRepository.findCodeCounts()) {
+            codeCounts.merge(((String) row[0]).trim().toUpperCase(Locale.ROOT), (Long) row[1], Long::sum);
+        }
+        SortedMap<String, Long> selected = codeCounts;
+        if (from != null && !from.isBlank()) {
+            selected = selected.tailMap(from.trim().toUpperCase(Locale.ROOT));
+        }
+        if (to != null && !to.isBlank()) {
+            // Inclusive of the whole "to" category: J06 keeps J06.9
+            selected = selected.headMap(to.trim().toUpperCase(Locale.ROOT) + Character.MAX_VALUE);
+        }
+
+        Map<String, ReportDto.CodeGroupFrequency> groups = new LinkedHashMap<>();
+        selected.forEach((code, count) -> {
+            ReportDto.CodeGroupFrequency group = groups.computeIfAbsent(groupCode(level, code),
+                    key -> ReportDto.CodeGroupFrequency.builder()
+                            .code(key)
+                            .name(groupName(level, code, key))
+                            .build());
+            group.setFrequency(group.getFrequency() + count);
+        });
+        return groups.values().stream()
+                .sorted(Comparator.comparingLong(ReportDto.CodeGroupFrequency::getFrequency).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static String groupCode(ReportDto.RollupLevel level, String code) {
+        switch (level) {
+            case CHAPTER:
+                return Icd10Chapter.of(code).map(Icd10Chapter::name).orElse("-");
+            case CATEGORY:
+                return Icd10Chapter.category(code);
+            default:
+                return code;
+        }
+    }
+
+    private String groupName(ReportDto.RollupLevel level, String code, String groupCode) {
+        if (level == ReportDto.RollupLevel.CHAPTER) {
+            return Icd10Chapter.of(code)
+                    .map(chapter -> chapter.getRange() + " " + chapter.getTitle())
+                    .orElse("Извън класификацията");
+        }
+        return diagnosisSearchIndex.findByCode(groupCode)
+                .map(DiagnosisDto.Response::getName)
+                .orElse(null);
+    }
+
     private Diagnosis findById(Long id) {
         return diagnosisRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Диагноза с ID " + id + " не е намерена"));
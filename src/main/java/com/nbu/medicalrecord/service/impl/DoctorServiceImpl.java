@@ -1,5 +1,6 @@
 package com.nbu.medicalrecord.service.impl;
 
+import com.nbu.medicalrecord.config.CacheConfig;
 import com.nbu.medicalrecord.dto.DoctorDto;
 import com.nbu.medicalrecord.dto.ReportDto;
 import com.nbu.medicalrecord.dto.SpecialtyDto;
@@ -7,15 +8,25 @@ import com.nbu.medicalrecord.entity.Doctor;
 import com.nbu.medicalrecord.entity.Specialty;
 import com.nbu.medicalrecord.exception.DuplicateResourceException;
 import com.nbu.medicalrecord.exception.ResourceNotFoundException;
+import com.nbu.medicalrecord.exception.ValidationException;
+import com.nbu.medicalrecord.repository.DoctorCounterRepository;
 import com.nbu.medicalrecord.repository.DoctorRepository;
+import com.nbu.medicalrecord.repository.PatientRepository;
 import com.nbu.medicalrecord.repository.SpecialtyRepository;
+import com.nbu.medicalrecord.search.TextNormalizer;
 import com.nbu.medicalrecord.service.DoctorService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,10 +35,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class DoctorServiceImpl implements DoctorService {
 
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final DoctorRepository doctorRepository;
     private final SpecialtyRepository specialtyRepository;
+    private final DoctorCounterRepository doctorCounterRepository;
+    private final PatientRepository patientRepository;
+    private final CacheManager cacheManager;
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.GENERAL_PRACTITIONERS, CacheConfig.REPORTS}, allEntries = true)
     public DoctorDto.Response create(DoctorDto.Request request) {
         if (doctorRepository.existsByUin(request.getUin())) {
             throw new DuplicateResourceException("Лекар с УИН '" + request.getUin() + "' вече съществува");
@@ -48,7 +65,7 @@ public class DoctorServiceImpl implements DoctorService {
                 .specialties(specialties)
                 .build();
 
-        return toResponse(doctorRepository.save(doctor));
+        return toResponse(doctorRepository.save(doctor), 0);
     }
 
     @Override
@@ -67,20 +84,39 @@ public class DoctorServiceImpl implements DoctorService {
     @Override
     @Transactional(readOnly = true)
     public List<DoctorDto.Response> getAll() {
+        Map<Long, Long> patientCounts = patientCountsByGp();
         return doctorRepository.findAll().stream()
-                .map(this::toResponse)
+                .map(doctor -> toResponse(doctor, patientCounts.getOrDefault(doctor.getId(), 0L)))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
+    public List<DoctorDto.Summary> search(String query, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ValidationException("Броят на резултатите трябва да бъде между 1 и " + MAX_SEARCH_RESULTS);
+        }
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.isEmpty()) {
+            return List.of();
+        }
+        String escaped = TextNormalizer.escapeLike(trimmed);
+        return doctorRepository.findSummaries(escaped + "%", "%" + escaped.toLowerCase(Locale.ROOT) + "%",
+                PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.GENERAL_PRACTITIONERS)
     public List<DoctorDto.Response> getAllGps() {
+        Map<Long, Long> patientCounts = patientCountsByGp();
         return doctorRepository.findByIsGpTrue().stream()
-                .map(this::toResponse)
+                .map(doctor -> toResponse(doctor, patientCounts.getOrDefault(doctor.getId(), 0L)))
                 .collect(Collectors.toList());
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.GENERAL_PRACTITIONERS, CacheConfig.REPORTS}, allEntries = true)
     public DoctorDto.Response update(Long id, DoctorDto.Request request) {
         Doctor doctor = findById(id);
 
@@ -102,12 +138,16 @@ public class DoctorServiceImpl implements DoctorService {
         doctor.setGp(request.isGp());
         doctor.setSpecialties(specialties);
 
+        CacheConfig.evictDisplayName(cacheManager, doctor.getUser());
+
         return toResponse(doctorRepository.save(doctor));
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.GENERAL_PRACTITIONERS, CacheConfig.REPORTS}, allEntries = true)
     public void delete(Long id) {
         Doctor doctor = findById(id);
+        doctorCounterRepository.deleteByDoctorId(id);
         doctorRepository.delete(doctor);
     }
 
@@ -121,6 +161,7 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.REPORTS, keyGenerator = CacheConfig.REPORT_KEY, sync = true)
     public List<ReportDto.DoctorPatientCount> getPatientCountPerGp() {
         return doctorRepository.countPatientsPerGp().stream()
                 .map(row -> ReportDto.DoctorPatientCount.builder()
@@ -132,8 +173,9 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.REPORTS, keyGenerator = CacheConfig.REPORT_KEY, sync = true)
     public List<ReportDto.DoctorExaminationCount> getExaminationCountPerDoctor() {
-        return doctorRepository.countExaminationsPerDoctor().stream()
+        return doctorCounterRepository.findExaminationCounts().stream()
                 .map(row -> ReportDto.DoctorExaminationCount.builder()
                         .doctor(toSummary((Doctor) row[0]))
                         .examinationCount((Long) row[1])
@@ -143,8 +185,9 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.REPORTS, keyGenerator = CacheConfig.REPORT_KEY, sync = true)
     public List<ReportDto.DoctorSickLeaveCount> getDoctorsWithMostSickLeaves() {
-        return doctorRepository.findDoctorsWithMostSickLeaves().stream()
+        return doctorCounterRepository.findSickLeaveCounts().stream()
                 .map(row -> ReportDto.DoctorSickLeaveCount.builder()
                         .doctor(toSummary((Doctor) row[0]))
                         .sickLeaveCount((Long) row[1])
@@ -152,12 +195,23 @@ public class DoctorServiceImpl implements DoctorService {
                 .collect(Collectors.toList());
     }
 
+    // One grouped count instead of loading every GP's patient collection
+    private Map<Long, Long> patientCountsByGp() {
+        return patientRepository.countPatientsByGp().stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    }
+
     private Doctor findById(Long id) {
         return doctorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Лекар с ID " + id + " не е намерен"));
     }
 
     private DoctorDto.Response toResponse(Doctor doctor) {
+        return toResponse(doctor, patientRepository.countByGpId(doctor.getId()));
+    }
+
+    // Specialties are lazy: list callers fetch them with Doctor.WITH_SPECIALTIES, single reads load them in one batch
+    private DoctorDto.Response toResponse(Doctor doctor, long patientCount) {
         return DoctorDto.Response.builder()
                 .id(doctor.getId())
                 .uin(doctor.getUin())
@@ -169,7 +223,7 @@ public class DoctorServiceImpl implements DoctorService {
                                 .name(s.getName())
                                 .build())
                         .collect(Collectors.toSet()))
-                .patientCount(doctor.getPatients() != null ? doctor.getPatients().size() : 0)
+                .patientCount((int) patientCount)
                 .build();
     }
 
@@ -0,0 +1,110 @@
+package com.nbu.medicalrecord.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.dto.ReportDto;
+import com.nbu.medicalrecord.exception.ValidationException;
+import com.nbu.medicalrecord.repository.ExaminationRepository;
+import com.nbu.medicalrecord.service.ExaminationExportService;
+import com.nbu.medicalrecord.service.ExaminationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ExaminationExportServiceImpl implements ExaminationExportService {
+
+    private static final String CSV_HEADER = "id,examination_date,patient_id,patient_name,patient_egn," +
+            "doctor_id,doctor_uin,doctor_name,diagnosis_code,diagnosis_name,sick_leave_start_date,sick_leave_days";
+
+    private final ExaminationRepository examinationRepository;
+    private final ExaminationService examinationService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportInPeriod(LocalDate startDate, LocalDate endDate, ExaminationDto.ExportFormat format,
+                               OutputStream output) {
+        if (startDate.isAfter(endDate)) {
+            throw new ValidationException("Началната дата трябва да бъде преди крайната");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(ExaminationDto.Row.class);
+        try (Stream<ExaminationDto.Row> rows = examinationRepository.streamInPeriod(startDate, endDate)) {
+            if (format == ExaminationDto.ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            for (ExaminationDto.Row row : (Iterable<ExaminationDto.Row>) rows::iterator) {
+                if (format == ExaminationDto.ExportFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(row));
+                    writer.write('\n');
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void exportGroupedByPatient(OutputStream output) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(ReportDto.PatientExaminations.class);
+        try {
+            examinationService.forEachPatientExaminations(group -> {
+                try {
+                    writer.write(jsonWriter.writeValueAsString(group));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsv(Writer writer, ExaminationDto.Row row) throws IOException {
+        writer.write(String.join(",",
+                value(row.getId()),
+                value(row.getExaminationDate()),
+                value(row.getPatientId()),
+                text(row.getPatientName()),
+                text(row.getPatientEgn()),
+                value(row.getDoctorId()),
+                text(row.getDoctorUin()),
+                text(row.getDoctorName()),
+                text(row.getDiagnosisCode()),
+                text(row.getDiagnosisName()),
+                value(row.getSickLeaveStartDate()),
+                value(row.getSickLeaveNumberOfDays())));
+        writer.write('\n');
+    }
+
+    private static String value(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    // RFC 4180 quoting: only when the value contains a separator, quote or line break
+    private static String text(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,285 @@
+package com.nbu.medicalrecord.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbu.medicalrecord.config.CacheConfig;
+import com.nbu.medicalrecord.config.MedicalUserDetails;
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.entity.Examination;
+import com.nbu.medicalrecord.entity.SickLeave;
+import com.nbu.medicalrecord.repository.DiagnosisRepository;
+import com.nbu.medicalrecord.repository.DoctorRepository;
+import com.nbu.medicalrecord.repository.EntityIdAllocator;
+import com.nbu.medicalrecord.repository.PatientRepository;
+import com.nbu.medicalrecord.service.ExaminationImportService;
+import com.nbu.medicalrecord.service.StatisticsService;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk examination import. Rows are validated and resolved in chunks: one id lookup per entity type
+ * and one JDBC batch per table for each chunk, committed chunk by chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExaminationImportServiceImpl implements ExaminationImportService {
+
+    private static final int CHUNK_SIZE = 1_000;
+
+    private static final String INSERT_EXAMINATION = "INSERT INTO examinations " +
+            "(id, examination_date, patient_id, doctor_id, diagnosis_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_DETAIL =
+            "INSERT INTO examination_details (examination_id, treatment, prescription) VALUES (?, ?, ?)";
+    private static final String INSERT_SICK_LEAVE =
+            "INSERT INTO sick_leaves (id, start_date, number_of_days, examination_id) VALUES (?, ?, ?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityIdAllocator idAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final DiagnosisRepository diagnosisRepository;
+    private final StatisticsService statisticsService;
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.REPORTS, allEntries = true)
+    public ExaminationDto.BulkResult importNdjson(InputStream input) {
+        long started = System.nanoTime();
+        // Rows without a doctor id belong to the importing doctor, as in single create
+        Long currentDoctorId = MedicalUserDetails.current().map(MedicalUserDetails::getDoctorId).orElse(null);
+        List<ExaminationDto.BulkError> errors = new ArrayList<>();
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        int received = 0;
+        int imported = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                received++;
+                try {
+                    chunk.add(new ImportRow(lineNumber, objectMapper.readValue(line, ExaminationDto.Request.class)));
+                } catch (JsonProcessingException e) {
+                    errors.add(error(lineNumber, "Невалиден JSON: " + e.getOriginalMessage()));
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    imported += importChunk(chunk, currentDoctorId, errors);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        imported += importChunk(chunk, currentDoctorId, errors);
+
+        long durationMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Bulk import: {} of {} examinations imported in {} ms", imported, received, durationMillis);
+        errors.sort(Comparator.comparingInt(ExaminationDto.BulkError::getRow));
+        return ExaminationDto.BulkResult.builder()
+                .received(received)
+                .imported(imported)
+                .failed(errors.size())
+                .durationMillis(durationMillis)
+                .errors(errors)
+                .build();
+    }
+
+    private int importChunk(List<ImportRow> chunk, Long currentDoctorId, List<ExaminationDto.BulkError> errors) {
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (row.request().getDoctorId() == null) {
+                row.request().setDoctorId(currentDoctorId);
+            }
+            String message = validate(row.request());
+            if (message != null) {
+                errors.add(error(row.line(), message));
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return 0;
+        }
+
+        // Rows that fail id resolution keep their own error; only the rows actually written get the write error
+        List<ExaminationDto.BulkError> unresolved = new ArrayList<>();
+        try {
+            Integer imported = transactionTemplate.execute(status -> insertResolved(valid, unresolved));
+            errors.addAll(unresolved);
+            return imported != null ? imported : 0;
+        } catch (DataAccessException e) {
+            log.warn("Bulk import chunk failed", e);
+            errors.addAll(unresolved);
+            Set<Integer> reported = unresolved.stream()
+                    .map(ExaminationDto.BulkError::getRow)
+                    .collect(Collectors.toSet());
+            valid.stream()
+                    .filter(row -> !reported.contains(row.line()))
+                    .forEach(row -> errors.add(error(row.line(), "Грешка при запис: " + e.getMostSpecificCause().getMessage())));
+            return 0;
+        }
+    }
+
+    private int insertResolved(List<ImportRow> valid, List<ExaminationDto.BulkError> errors) {
+        Set<Long> patients = patientRepository.findExistingIds(ids(valid, ExaminationDto.Request::getPatientId));
+        Set<Long> doctors = doctorRepository.findExistingIds(ids(valid, ExaminationDto.Request::getDoctorId));
+        Set<Long> diagnosisIds = ids(valid, ExaminationDto.Request::getDiagnosisId);
+        Set<Long> diagnoses = diagnosisIds.isEmpty() ? Set.of() : diagnosisRepository.findExistingIds(diagnosisIds);
+
+        List<ExaminationDto.Request> rows = new ArrayList<>(valid.size());
+        for (ImportRow row : valid) {
+            ExaminationDto.Request request = row.request();
+            if (!patients.contains(request.getPatientId())) {
+                errors.add(error(row.line(), "Пациент с ID " + request.getPatientId() + " не е намерен"));
+            } else if (!doctors.contains(request.getDoctorId())) {
+                errors.add(error(row.line(), "Лекар с ID " + request.getDoctorId() + " не е намерен"));
+            } else if (request.getDiagnosisId() != null && !diagnoses.contains(request.getDiagnosisId())) {
+                errors.add(error(row.line(), "Диагноза с ID " + request.getDiagnosisId() + " не е намерена"));
+            } else {
+                rows.add(request);
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        long[] examinationIds = insertExaminations(rows);
+        insertDetails(rows, examinationIds);
+        insertSickLeaves(rows, examinationIds);
+        adjustCounters(rows);
+        return rows.size();
+    }
+
+    private long[] insertExaminations(List<ExaminationDto.Request> rows) {
+        long[] ids = idAllocator.allocate(Examination.class, rows.size());
+        jdbcTemplate.batchUpdate(INSERT_EXAMINATION, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ExaminationDto.Request request = rows.get(i);
+                ps.setLong(1, ids[i]);
+                ps.setDate(2, Date.valueOf(request.getExaminationDate()));
+                ps.setLong(3, request.getPatientId());
+                ps.setLong(4, request.getDoctorId());
+                ps.setObject(5, request.getDiagnosisId(), Types.BIGINT);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        return ids;
+    }
+
+    // Only rows with free text get a detail row, as in ExaminationServiceImpl
+    private void insertDetails(List<ExaminationDto.Request> rows, long[] examinationIds) {
+        List<Object[]> details = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ExaminationDto.Request request = rows.get(i);
+            if (StringUtils.hasText(request.getTreatment()) || StringUtils.hasText(request.getPrescription())) {
+                details.add(new Object[]{examinationIds[i], request.getTreatment(), request.getPrescription()});
+            }
+        }
+        if (!details.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DETAIL, details);
+        }
+    }
+
+    private void insertSickLeaves(List<ExaminationDto.Request> rows, long[] examinationIds) {
+        List<Object[]> sickLeaves = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).getSickLeave() != null) {
+                sickLeaves.add(new Object[]{null, Date.valueOf(rows.get(i).getSickLeave().getStartDate()),
+                        rows.get(i).getSickLeave().getNumberOfDays(), examinationIds[i]});
+            }
+        }
+        if (!sickLeaves.isEmpty()) {
+            long[] ids = idAllocator.allocate(SickLeave.class, sickLeaves.size());
+            for (int i = 0; i < ids.length; i++) {
+                sickLeaves.get(i)[0] = ids[i];
+            }
+            jdbcTemplate.batchUpdate(INSERT_SICK_LEAVE, sickLeaves);
+        }
+    }
+
+    // One counter update per doctor, diagnosis and month for the whole chunk
+    private void adjustCounters(List<ExaminationDto.Request> rows) {
+        Map<Long, long[]> doctorDeltas = new HashMap<>();
+        Map<Long, Long> diagnosisDeltas = new HashMap<>();
+        Map<YearMonth, long[]> monthDeltas = new HashMap<>();
+        for (ExaminationDto.Request request : rows) {
+            if (request.getDiagnosisId() != null) {
+                diagnosisDeltas.merge(request.getDiagnosisId(), 1L, Long::sum);
+            }
+            long[] doctor = doctorDeltas.computeIfAbsent(request.getDoctorId(), id -> new long[2]);
+            doctor[0]++;
+            if (request.getSickLeave() != null) {
+                doctor[1]++;
+                long[] month = monthDeltas.computeIfAbsent(YearMonth.from(request.getSickLeave().getStartDate()), m -> new long[2]);
+                month[0]++;
+                month[1] += request.getSickLeave().getNumberOfDays();
+            }
+        }
+        doctorDeltas.forEach((doctorId, delta) -> statisticsService.adjustDoctorCounters(doctorId, delta[0], delta[1]));
+        diagnosisDeltas.forEach(statisticsService::adjustDiagnosisCounter);
+        monthDeltas.forEach((month, delta) -> statisticsService.adjustSickLeaveMonth(month.atDay(1), delta[0], delta[1]));
+    }
+
+    private String validate(ExaminationDto.Request request) {
+        List<String> violations = new ArrayList<>();
+        validator.validate(request).forEach(violation -> violations.add(violation.getMessage()));
+        if (request.getSickLeave() != null) {
+            validator.validate(request.getSickLeave()).forEach(violation -> violations.add(violation.getMessage()));
+        }
+        if (!violations.isEmpty()) {
+            return String.join("; ", violations);
+        }
+        if (request.getDoctorId() == null) {
+            return "Лекарят е задължителен";
+        }
+        return null;
+    }
+
+    private static Set<Long> ids(List<ImportRow> rows, Function<ExaminationDto.Request, Long> id) {
+        return rows.stream()
+                .map(row -> id.apply(row.request()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static ExaminationDto.BulkError error(int row, String message) {
+        return ExaminationDto.BulkError.builder()
+                .row(row)
+                .message(message)
+                .build();
+    }
+
+    private record ImportRow(int line, ExaminationDto.Request request) {
+    }
+}
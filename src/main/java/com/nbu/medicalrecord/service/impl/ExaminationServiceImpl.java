@@ -1,33 +1,53 @@
 package com.nbu.medicalrecord.service.impl;
 
+import com.nbu.medicalrecord.config.CacheConfig;
+import com.nbu.medicalrecord.config.MedicalUserDetails;
 import com.nbu.medicalrecord.dto.*;
 import com.nbu.medicalrecord.entity.*;
 import com.nbu.medicalrecord.exception.ResourceNotFoundException;
+import com.nbu.medicalrecord.exception.ValidationException;
 import com.nbu.medicalrecord.repository.*;
 import com.nbu.medicalrecord.service.ExaminationService;
+import com.nbu.medicalrecord.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ExaminationServiceImpl implements ExaminationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ExaminationRepository examinationRepository;
+    private final ExaminationDetailRepository examinationDetailRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final DiagnosisRepository diagnosisRepository;
     private final UserRepository userRepository;
+    private final StatisticsService statisticsService;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.REPORTS, allEntries = true)
     public ExaminationDto.Response create(ExaminationDto.Request request) {
         Patient patient = patientRepository.findById(request.getPatientId())
                 .orElseThrow(() -> new ResourceNotFoundException("Пациент с ID " + request.getPatientId() + " не е намерен"));
@@ -45,41 +65,77 @@ public class ExaminationServiceImpl implements ExaminationService {
                 .patient(patient)
                 .doctor(doctor)
                 .diagnosis(diagnosis)
-                .treatment(request.getTreatment())
-                .prescription(request.getPrescription())
                 .build();
 
-        examination = examinationRepository.save(examination);
-
-        // Create sick leave if provided
+        // Create sick leave if provided; it is persisted with the examination by cascade
         if (request.getSickLeave() != null) {
-            SickLeave sickLeave = SickLeave.builder()
+            examination.setSickLeave(SickLeave.builder()
                     .startDate(request.getSickLeave().getStartDate())
                     .numberOfDays(request.getSickLeave().getNumberOfDays())
                     .examination(examination)
-                    .build();
-            examination.setSickLeave(sickLeave);
-            examination = examinationRepository.save(examination);
+                    .build());
         }
 
-        return toResponse(examination);
+        examination = examinationRepository.save(examination);
+        ExaminationDetail detail = saveDetail(examination.getId(), request, null);
+
+        statisticsService.adjustDoctorCounters(doctor.getId(), 1, examination.getSickLeave() != null ? 1 : 0);
+        statisticsService.adjustDiagnosisCounter(request.getDiagnosisId(), 1);
+        if (examination.getSickLeave() != null) {
+            statisticsService.adjustSickLeaveMonth(examination.getSickLeave().getStartDate(), 1,
+                    examination.getSickLeave().getNumberOfDays());
+        }
+        return toResponse(examination, detail);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ExaminationDto.Response getById(Long id) {
-        return toResponse(findById(id));
+        return toResponse(findById(id), examinationDetailRepository.findById(id).orElse(null));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ExaminationDto.Response> getAll() {
-        return examinationRepository.findAll().stream()
+        return examinationRepository.findAllRows().stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ExaminationDto.Response> getPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Размерът на страницата трябва да бъде между 1 и " + MAX_PAGE_SIZE);
+        }
+
+        // Fetch one extra row to know whether a next page exists without a COUNT query
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<ExaminationDto.Row> examinations;
+        if (cursor == null || cursor.isBlank()) {
+            examinations = examinationRepository.findFirstPage(limit);
+        } else {
+            Cursor after = decodeCursor(cursor);
+            examinations = examinationRepository.findPageAfter(after.examinationDate(), after.id(), limit);
+        }
+
+        boolean hasNext = examinations.size() > size;
+        if (hasNext) {
+            examinations = examinations.subList(0, size);
+        }
+
+        return CursorPage.<ExaminationDto.Response>builder()
+                .content(examinations.stream()
+                        .map(this::toResponse)
+                        .collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(examinations.get(examinations.size() - 1)) : null)
+                .build();
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.REPORTS, allEntries = true)
     public ExaminationDto.Response update(Long id, ExaminationDto.Request request) {
         Examination examination = findById(id);
 
@@ -94,17 +150,25 @@ public class ExaminationServiceImpl implements ExaminationService {
                     .orElseThrow(() -> new ResourceNotFoundException("Диагноза с ID " + request.getDiagnosisId() + " не е намерена"));
         }
 
+        Long previousDiagnosisId = examination.getDiagnosis() != null ? examination.getDiagnosis().getId() : null;
+        if (!Objects.equals(previousDiagnosisId, request.getDiagnosisId())) {
+            statisticsService.adjustDiagnosisCounter(previousDiagnosisId, -1);
+            statisticsService.adjustDiagnosisCounter(request.getDiagnosisId(), 1);
+        }
+
         examination.setExaminationDate(request.getExaminationDate());
         examination.setPatient(patient);
         examination.setDiagnosis(diagnosis);
-        examination.setTreatment(request.getTreatment());
-        examination.setPrescription(request.getPrescription());
+        ExaminationDetail detail = saveDetail(id, request, examinationDetailRepository.findById(id).orElse(null));
 
         // Update sick leave
         if (request.getSickLeave() != null) {
             if (examination.getSickLeave() != null) {
-                examination.getSickLeave().setStartDate(request.getSickLeave().getStartDate());
-                examination.getSickLeave().setNumberOfDays(request.getSickLeave().getNumberOfDays());
+                SickLeave sickLeave = examination.getSickLeave();
+                statisticsService.adjustSickLeaveMonth(sickLeave.getStartDate(), -1, -sickLeave.getNumberOfDays());
+                sickLeave.setStartDate(request.getSickLeave().getStartDate());
+                sickLeave.setNumberOfDays(request.getSickLeave().getNumberOfDays());
+                statisticsService.adjustSickLeaveMonth(sickLeave.getStartDate(), 1, sickLeave.getNumberOfDays());
             } else {
                 SickLeave sickLeave = SickLeave.builder()
                         .startDate(request.getSickLeave().getStartDate())
@@ -112,15 +176,27 @@ public class ExaminationServiceImpl implements ExaminationService {
                         .examination(examination)
                         .build();
                 examination.setSickLeave(sickLeave);
+                statisticsService.adjustDoctorCounters(examination.getDoctor().getId(), 0, 1);
+                statisticsService.adjustSickLeaveMonth(sickLeave.getStartDate(), 1, sickLeave.getNumberOfDays());
             }
         }
 
-        return toResponse(examinationRepository.save(examination));
+        return toResponse(examinationRepository.save(examination), detail);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.REPORTS, allEntries = true)
     public void delete(Long id) {
         Examination examination = findById(id);
+        statisticsService.adjustDoctorCounters(examination.getDoctor().getId(), -1,
+                examination.getSickLeave() != null ? -1 : 0);
+        if (examination.getDiagnosis() != null) {
+            statisticsService.adjustDiagnosisCounter(examination.getDiagnosis().getId(), -1);
+        }
+        if (examination.getSickLeave() != null) {
+            statisticsService.adjustSickLeaveMonth(examination.getSickLeave().getStartDate(), -1,
+                    -examination.getSickLeave().getNumberOfDays());
+        }
         examinationRepository.delete(examination);
     }
 
@@ -158,20 +234,78 @@ public class ExaminationServiceImpl implements ExaminationService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ReportDto.PatientExaminations> getExaminationsGroupedByPatient() {
-        List<Examination> allExaminations = examinationRepository.findAll();
-
-        Map<Patient, List<Examination>> grouped = allExaminations.stream()
-                .collect(Collectors.groupingBy(Examination::getPatient));
-
-        return grouped.entrySet().stream()
-                .map(entry -> ReportDto.PatientExaminations.builder()
-                        .patient(toPatientSummary(entry.getKey()))
-                        .examinations(entry.getValue().stream()
-                                .map(this::toResponse)
-                                .collect(Collectors.toList()))
-                        .build())
-                .collect(Collectors.toList());
+    public CursorPage<ReportDto.PatientExaminations> getExaminationsGroupedByPatient(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Размерът на страницата трябва да бъде между 1 и " + MAX_PAGE_SIZE);
+        }
+
+        // Page over patient ids first, then load the examinations of just those patients
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Long> patientIds;
+        if (cursor == null || cursor.isBlank()) {
+            patientIds = examinationRepository.findFirstExaminedPatientIds(limit);
+        } else {
+            patientIds = examinationRepository.findExaminedPatientIdsAfter(decodePatientCursor(cursor), limit);
+        }
+
+        boolean hasNext = patientIds.size() > size;
+        if (hasNext) {
+            patientIds = patientIds.subList(0, size);
+        }
+
+        Map<Long, ReportDto.PatientExaminations> grouped = new LinkedHashMap<>();
+        if (!patientIds.isEmpty()) {
+            for (ExaminationDto.Row row : examinationRepository.findByPatientIds(patientIds)) {
+                grouped.computeIfAbsent(row.getPatientId(), patientId -> toPatientExaminations(row))
+                        .getExaminations().add(toResponse(row));
+            }
+        }
+
+        return CursorPage.<ReportDto.PatientExaminations>builder()
+                .content(new ArrayList<>(grouped.values()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodePatientCursor(patientIds.get(patientIds.size() - 1)) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachPatientExaminations(Consumer<ReportDto.PatientExaminations> consumer) {
+        // Rows arrive ordered by patient, so only the current patient's group is held in memory
+        ReportDto.PatientExaminations current = null;
+        try (Stream<ExaminationDto.Row> rows = examinationRepository.streamAllOrderByPatient()) {
+            for (ExaminationDto.Row row : (Iterable<ExaminationDto.Row>) rows::iterator) {
+                if (current == null || !current.getPatient().getId().equals(row.getPatientId())) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = toPatientExaminations(row);
+                }
+                current.getExaminations().add(toResponse(row));
+            }
+        }
+        if (current != null) {
+            consumer.accept(current);
+        }
+    }
+
+    /**
+     * Creates, updates or deletes the detail row so that it exists only while the examination has free text.
+     */
+    private ExaminationDetail saveDetail(Long examinationId, ExaminationDto.Request request, ExaminationDetail detail) {
+        if (!StringUtils.hasText(request.getTreatment()) && !StringUtils.hasText(request.getPrescription())) {
+            if (detail != null) {
+                examinationDetailRepository.delete(detail);
+            }
+            return null;
+        }
+        if (detail == null) {
+            detail = ExaminationDetail.builder().examinationId(examinationId).build();
+        }
+        detail.setTreatment(request.getTreatment());
+        detail.setPrescription(request.getPrescription());
+        return examinationDetailRepository.save(detail);
     }
 
     private Examination findById(Long id) {
@@ -179,7 +313,50 @@ public class ExaminationServiceImpl implements ExaminationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Преглед с ID " + id + " не е намерен"));
     }
 
-    private ExaminationDto.Response toResponse(Examination examination) {
+    /**
+     * Cursor format: base64url("yyyy-MM-dd:id") of the last row on the page.
+     */
+    private String encodeCursor(ExaminationDto.Row row) {
+        String raw = row.getExaminationDate() + ":" + row.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new Cursor(LocalDate.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Невалиден курсор за страниране");
+        }
+    }
+
+    private record Cursor(LocalDate examinationDate, Long id) {
+    }
+
+    /**
+     * Grouped-by-patient cursor format: base64url of the last patient id on the page.
+     */
+    private String encodePatientCursor(Long patientId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(patientId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodePatientCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Невалиден курсор за страниране");
+        }
+    }
+
+    private ReportDto.PatientExaminations toPatientExaminations(ExaminationDto.Row row) {
+        return ReportDto.PatientExaminations.builder()
+                .patient(toPatientSummary(row))
+                .examinations(new ArrayList<>())
+                .build();
+    }
+
+    private ExaminationDto.Response toResponse(Examination examination, ExaminationDetail detail) {
         DiagnosisDto.Response diagnosisResponse = null;
         if (examination.getDiagnosis() != null) {
             diagnosisResponse = DiagnosisDto.Response.builder()
@@ -206,12 +383,60 @@ public class ExaminationServiceImpl implements ExaminationService {
                 .patient(toPatientSummary(examination.getPatient()))
                 .doctor(toDoctorSummary(examination.getDoctor()))
                 .diagnosis(diagnosisResponse)
-                .treatment(examination.getTreatment())
-                .prescription(examination.getPrescription())
+                .treatment(detail != null ? detail.getTreatment() : null)
+                .prescription(detail != null ? detail.getPrescription() : null)
                 .sickLeave(sickLeaveResponse)
                 .build();
     }
 
+    /**
+     * Maps a list row. Free-text fields (treatment, prescription, diagnosis description)
+     * are not part of the row and are left null; getById returns them.
+     */
+    private ExaminationDto.Response toResponse(ExaminationDto.Row row) {
+        DiagnosisDto.Response diagnosisResponse = null;
+        if (row.getDiagnosisId() != null) {
+            diagnosisResponse = DiagnosisDto.Response.builder()
+                    .id(row.getDiagnosisId())
+                    .code(row.getDiagnosisCode())
+                    .name(row.getDiagnosisName())
+                    .build();
+        }
+
+        SickLeaveDto.Response sickLeaveResponse = null;
+        if (row.getSickLeaveId() != null) {
+            sickLeaveResponse = SickLeaveDto.Response.builder()
+                    .id(row.getSickLeaveId())
+                    .startDate(row.getSickLeaveStartDate())
+                    .numberOfDays(row.getSickLeaveNumberOfDays())
+                    .endDate(row.getSickLeaveStartDate().plusDays(row.getSickLeaveNumberOfDays() - 1))
+                    .build();
+        }
+
+        return ExaminationDto.Response.builder()
+                .id(row.getId())
+                .examinationDate(row.getExaminationDate())
+                .patient(toPatientSummary(row))
+                .doctor(DoctorDto.Summary.builder()
+                        .id(row.getDoctorId())
+                        .uin(row.getDoctorUin())
+                        .name(row.getDoctorName())
+                        .isGp(row.isDoctorGp())
+                        .build())
+                .diagnosis(diagnosisResponse)
+                .sickLeave(sickLeaveResponse)
+                .build();
+    }
+
+    private PatientDto.Summary toPatientSummary(ExaminationDto.Row row) {
+        return PatientDto.Summary.builder()
+                .id(row.getPatientId())
+                .name(row.getPatientName())
+                .egn(row.getPatientEgn())
+                .hasValidInsurance(Patient.hasValidInsurance(row.getPatientLastInsurancePayment()))
+                .build();
+    }
+
     private PatientDto.Summary toPatientSummary(Patient patient) {
         return PatientDto.Summary.builder()
                 .id(patient.getId())
@@ -246,6 +471,13 @@ public class ExaminationServiceImpl implements ExaminationService {
             throw new IllegalStateException("Няма автентикиран потребител");
         }
 
+        // The login principal already knows the doctor id
+        Long currentDoctorId = MedicalUserDetails.from(auth).map(MedicalUserDetails::getDoctorId).orElse(null);
+        if (currentDoctorId != null) {
+            return doctorRepository.findById(currentDoctorId)
+                    .orElseThrow(() -> new IllegalStateException("Текущият потребител не е лекар"));
+        }
+
         return userRepository.findByUsername(auth.getName())
                 .map(User::getDoctor)
                 .orElseThrow(() -> new IllegalStateException("Текущият потребител не е лекар"));
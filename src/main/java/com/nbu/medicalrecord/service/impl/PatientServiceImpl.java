@@ -1,5 +1,6 @@
 package com.nbu.medicalrecord.service.impl;
 
+import com.nbu.medicalrecord.config.CacheConfig;
 import com.nbu.medicalrecord.dto.DoctorDto;
 import com.nbu.medicalrecord.dto.PatientDto;
 import com.nbu.medicalrecord.entity.Doctor;
@@ -9,9 +10,13 @@ import com.nbu.medicalrecord.exception.ResourceNotFoundException;
 import com.nbu.medicalrecord.exception.ValidationException;
 import com.nbu.medicalrecord.repository.DoctorRepository;
 import com.nbu.medicalrecord.repository.PatientRepository;
+import com.nbu.medicalrecord.search.PatientSearchIndex;
 import com.nbu.medicalrecord.service.PatientService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -22,10 +27,15 @@ import java.util.stream.Collectors;
 @Transactional
 public class PatientServiceImpl implements PatientService {
 
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
+    private final CacheManager cacheManager;
+    private final PatientSearchIndex patientSearchIndex;
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.GENERAL_PRACTITIONERS, CacheConfig.REPORTS}, allEntries = true)
     public PatientDto.Response create(PatientDto.Request request) {
         if (patientRepository.existsByEgn(request.getEgn())) {
             throw new DuplicateResourceException("Пациент с ЕГН '" + request.getEgn() + "' вече съществува");
@@ -47,7 +57,9 @@ public class PatientServiceImpl implements PatientService {
                 .gp(gp)
                 .build();
 
-        return toResponse(patientRepository.save(patient));
+        patient = patientRepository.save(patient);
+        patientSearchIndex.put(patient.getId(), patient.getName(), patient.getEgn(), patient.getLastInsurancePayment());
+        return toResponse(patient);
     }
 
     @Override
@@ -72,6 +84,16 @@ public class PatientServiceImpl implements PatientService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<PatientDto.Summary> search(String query, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ValidationException("Броят на резултатите трябва да бъде между 1 и " + MAX_SEARCH_RESULTS);
+        }
+        return patientSearchIndex.search(query, limit);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.GENERAL_PRACTITIONERS, CacheConfig.REPORTS}, allEntries = true)
     public PatientDto.Response update(Long id, PatientDto.Request request) {
         Patient patient = findById(id);
 
@@ -94,13 +116,19 @@ public class PatientServiceImpl implements PatientService {
         patient.setLastInsurancePayment(request.getLastInsurancePayment());
         patient.setGp(gp);
 
-        return toResponse(patientRepository.save(patient));
+        CacheConfig.evictDisplayName(cacheManager, patient.getUser());
+
+        patient = patientRepository.save(patient);
+        patientSearchIndex.put(patient.getId(), patient.getName(), patient.getEgn(), patient.getLastInsurancePayment());
+        return toResponse(patient);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.GENERAL_PRACTITIONERS, CacheConfig.REPORTS}, allEntries = true)
     public void delete(Long id) {
         Patient patient = findById(id);
         patientRepository.delete(patient);
+        patientSearchIndex.remove(id);
     }
 
     @Override
@@ -1,12 +1,19 @@
 package com.nbu.medicalrecord.service.impl;
 
+import com.nbu.medicalrecord.config.CacheConfig;
 import com.nbu.medicalrecord.dto.ReportDto;
 import com.nbu.medicalrecord.dto.SickLeaveDto;
 import com.nbu.medicalrecord.entity.SickLeave;
 import com.nbu.medicalrecord.exception.ResourceNotFoundException;
+import com.nbu.medicalrecord.exception.ValidationException;
+import com.nbu.medicalrecord.repository.SickLeaveMonthlyTotalRepository;
 import com.nbu.medicalrecord.repository.SickLeaveRepository;
 import com.nbu.medicalrecord.service.SickLeaveService;
+import com.nbu.medicalrecord.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,7 +25,11 @@ import java.util.stream.Collectors;
 @Transactional
 public class SickLeaveServiceImpl implements SickLeaveService {
 
+    private static final int MAX_REPORT_LIMIT = 1000;
+
     private final SickLeaveRepository sickLeaveRepository;
+    private final SickLeaveMonthlyTotalRepository sickLeaveMonthlyTotalRepository;
+    private final StatisticsService statisticsService;
 
     @Override
     @Transactional(readOnly = true)
@@ -42,19 +53,31 @@ public class SickLeaveServiceImpl implements SickLeaveService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.REPORTS, allEntries = true)
     public void delete(Long id) {
         SickLeave sickLeave = findById(id);
+        statisticsService.adjustDoctorCounters(sickLeave.getExamination().getDoctor().getId(), 0, -1);
+        statisticsService.adjustSickLeaveMonth(sickLeave.getStartDate(), -1, -sickLeave.getNumberOfDays());
         sickLeaveRepository.delete(sickLeave);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ReportDto.MonthSickLeaveCount> getMonthsWithMostSickLeaves() {
-        return sickLeaveRepository.findMonthsWithMostSickLeaves().stream()
-                .map(row -> ReportDto.MonthSickLeaveCount.builder()
-                        .month((Integer) row[0])
-                        .year((Integer) row[1])
-                        .count((Long) row[2])
+    @Cacheable(cacheNames = CacheConfig.REPORTS, keyGenerator = CacheConfig.REPORT_KEY, sync = true)
+    public List<ReportDto.MonthSickLeaveCount> getMonthsWithMostSickLeaves(Integer fromYear, Integer toYear, int limit) {
+        if (limit < 1 || limit > MAX_REPORT_LIMIT) {
+            throw new ValidationException("Броят резултати трябва да бъде между 1 и " + MAX_REPORT_LIMIT);
+        }
+
+        return sickLeaveMonthlyTotalRepository.findTopMonths(
+                        fromYear != null ? fromYear : Integer.MIN_VALUE,
+                        toYear != null ? toYear : Integer.MAX_VALUE,
+                        PageRequest.of(0, limit)).stream()
+                .map(total -> ReportDto.MonthSickLeaveCount.builder()
+                        .month(total.getMonth())
+                        .year(total.getYear())
+                        .count(total.getSickLeaveCount())
+                        .totalDays(total.getTotalDays())
                         .build())
                 .collect(Collectors.toList());
     }
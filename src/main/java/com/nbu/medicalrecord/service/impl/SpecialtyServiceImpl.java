@@ -1,5 +1,6 @@
 package com.nbu.medicalrecord.service.impl;
 
+import com.nbu.medicalrecord.config.CacheConfig;
 import com.nbu.medicalrecord.dto.SpecialtyDto;
 import com.nbu.medicalrecord.entity.Specialty;
 import com.nbu.medicalrecord.exception.DuplicateResourceException;
@@ -7,6 +8,8 @@ import com.nbu.medicalrecord.exception.ResourceNotFoundException;
 import com.nbu.medicalrecord.repository.SpecialtyRepository;
 import com.nbu.medicalrecord.service.SpecialtyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,7 @@ public class SpecialtyServiceImpl implements SpecialtyService {
     private final SpecialtyRepository specialtyRepository;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SPECIALTIES, allEntries = true)
     public SpecialtyDto.Response create(SpecialtyDto.Request request) {
         if (specialtyRepository.existsByName(request.getName())) {
             throw new DuplicateResourceException("Специалност с име '" + request.getName() + "' вече съществува");
@@ -41,6 +45,7 @@ public class SpecialtyServiceImpl implements SpecialtyService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.SPECIALTIES)
     public List<SpecialtyDto.Response> getAll() {
         return specialtyRepository.findAll().stream()
                 .map(this::toResponse)
@@ -48,6 +53,7 @@ public class SpecialtyServiceImpl implements SpecialtyService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.SPECIALTIES, CacheConfig.GENERAL_PRACTITIONERS}, allEntries = true)
     public SpecialtyDto.Response update(Long id, SpecialtyDto.Request request) {
         Specialty specialty = findById(id);
 
@@ -61,6 +67,7 @@ public class SpecialtyServiceImpl implements SpecialtyService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.SPECIALTIES, CacheConfig.GENERAL_PRACTITIONERS}, allEntries = true)
     public void delete(Long id) {
         Specialty specialty = findById(id);
         specialtyRepository.delete(specialty);
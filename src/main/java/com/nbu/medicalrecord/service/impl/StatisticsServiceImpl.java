@@ -0,0 +1,91 @@
+package com.nbu.medicalrecord.service.impl;
+
+import com.nbu.medicalrecord.config.CacheConfig;
+import com.nbu.medicalrecord.repository.CounterUpserts;
+import com.nbu.medicalrecord.repository.DiagnosisCounterRepository;
+import com.nbu.medicalrecord.repository.DoctorCounterRepository;
+import com.nbu.medicalrecord.repository.SickLeaveMonthlyTotalRepository;
+import com.nbu.medicalrecord.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class StatisticsServiceImpl implements StatisticsService {
+
+    private final DoctorCounterRepository doctorCounterRepository;
+    private final DiagnosisCounterRepository diagnosisCounterRepository;
+    private final SickLeaveMonthlyTotalRepository sickLeaveMonthlyTotalRepository;
+    private final CounterUpserts counterUpserts;
+
+    /**
+     * Runs inside the caller's transaction, so the counters commit or roll back
+     * together with the examination or sick leave change that caused them.
+     */
+    @Override
+    public void adjustDoctorCounters(Long doctorId, long examinations, long sickLeaves) {
+        if (examinations == 0 && sickLeaves == 0) {
+            return;
+        }
+        counterUpserts.addToDoctor(doctorId, examinations, sickLeaves);
+    }
+
+    @Override
+    public void adjustDiagnosisCounter(Long diagnosisId, long examinations) {
+        if (diagnosisId == null || examinations == 0) {
+            return;
+        }
+        counterUpserts.addToDiagnosis(diagnosisId, examinations);
+    }
+
+    @Override
+    public void adjustSickLeaveMonth(LocalDate startDate, long sickLeaves, long days) {
+        if (sickLeaves == 0 && days == 0) {
+            return;
+        }
+        counterUpserts.addToSickLeaveMonth(startDate.getYear(), startDate.getMonthValue(), sickLeaves, days);
+    }
+
+    /**
+     * Also runs nightly to correct any drift, e.g. from rows changed
+     * directly in the database.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.REPORTS, allEntries = true)
+    @Scheduled(cron = "${medical-record.statistics.rebuild-cron}")
+    public void rebuild() {
+        rebuildDoctorCounters();
+        rebuildDiagnosisCounters();
+        rebuildSickLeaveMonths();
+    }
+
+    // Each table is emptied and refilled by two statements in the rebuild transaction. Counter rows are never
+    // read into memory, so an increment committed meanwhile is either in the aggregate or waits on the new row.
+    private void rebuildDoctorCounters() {
+        doctorCounterRepository.deleteAllInBatch();
+        int doctors = doctorCounterRepository.insertFromExaminations();
+        log.info("Rebuilt examination and sick leave counters for {} doctors", doctors);
+    }
+
+    private void rebuildDiagnosisCounters() {
+        diagnosisCounterRepository.deleteAllInBatch();
+        int diagnoses = diagnosisCounterRepository.insertFromExaminations();
+        log.info("Rebuilt examination counters for {} diagnoses", diagnoses);
+    }
+
+    private void rebuildSickLeaveMonths() {
+        sickLeaveMonthlyTotalRepository.deleteAllInBatch();
+        int months = sickLeaveMonthlyTotalRepository.insertFromSickLeaves();
+        log.info("Rebuilt sick leave totals for {} months", months);
+    }
+}
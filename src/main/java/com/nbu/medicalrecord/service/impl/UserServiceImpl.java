@@ -1,5 +1,6 @@
 package com.nbu.medicalrecord.service.impl;
 
+import com.nbu.medicalrecord.config.CacheConfig;
 import com.nbu.medicalrecord.dto.DoctorDto;
 import com.nbu.medicalrecord.dto.PatientDto;
 import com.nbu.medicalrecord.dto.UserDto;
@@ -8,8 +9,11 @@ import com.nbu.medicalrecord.exception.DuplicateResourceException;
 import com.nbu.medicalrecord.exception.ResourceNotFoundException;
 import com.nbu.medicalrecord.exception.ValidationException;
 import com.nbu.medicalrecord.repository.*;
+import com.nbu.medicalrecord.search.PatientSearchIndex;
 import com.nbu.medicalrecord.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,8 +33,10 @@ public class UserServiceImpl implements UserService {
     private final PatientRepository patientRepository;
     private final SpecialtyRepository specialtyRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PatientSearchIndex patientSearchIndex;
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.GENERAL_PRACTITIONERS, CacheConfig.REPORTS}, allEntries = true)
     public UserDto.Response register(UserDto.RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new DuplicateResourceException("Потребител с име '" + request.getUsername() + "' вече съществува");
@@ -91,6 +97,7 @@ public class UserServiceImpl implements UserService {
                     .build();
 
             patientRepository.save(patient);
+            patientSearchIndex.put(patient.getId(), patient.getName(), patient.getEgn(), patient.getLastInsurancePayment());
             user.setPatient(patient);
         }
 
@@ -119,11 +126,20 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.DISPLAY_NAMES, key = "#id")
     public void delete(Long id) {
         User user = findById(id);
         userRepository.delete(user);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DISPLAY_NAMES, key = "#userId")
+    public String getDisplayName(Long userId) {
+        return userRepository.findDisplayName(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Потребител с ID " + userId + " не е намерен"));
+    }
+
     private User findById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Потребител с ID " + id + " не е намерен"));
@@ -0,0 +1,77 @@
+-- Schema as previously created by ddl-auto=update, constraint names included; existing databases are baselined at this version
+
+create table diagnoses (
+    id bigint generated by default as identity,
+    description varchar(1000),
+    code varchar(255) not null unique,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table doctor_specialties (
+    doctor_id bigint not null,
+    specialty_id bigint not null,
+    primary key (doctor_id, specialty_id)
+);
+
+create table doctors (
+    is_gp boolean not null,
+    id bigint generated by default as identity,
+    user_id bigint unique,
+    name varchar(255) not null,
+    uin varchar(255) not null unique,
+    primary key (id)
+);
+
+create table examinations (
+    examination_date date not null,
+    diagnosis_id bigint,
+    doctor_id bigint not null,
+    id bigint generated by default as identity,
+    patient_id bigint not null,
+    prescription varchar(1000),
+    treatment varchar(2000),
+    primary key (id)
+);
+
+create table patients (
+    last_insurance_payment date,
+    gp_id bigint,
+    id bigint generated by default as identity,
+    user_id bigint unique,
+    egn varchar(10) not null unique,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table sick_leaves (
+    number_of_days integer not null,
+    start_date date not null,
+    examination_id bigint not null unique,
+    id bigint generated by default as identity,
+    primary key (id)
+);
+
+create table specialties (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    password varchar(255) not null,
+    role varchar(255) not null check (role in ('ADMIN','DOCTOR','PATIENT')),
+    username varchar(255) not null unique,
+    primary key (id)
+);
+
+alter table doctor_specialties add constraint FK8gbyvkfmm5a01nmd5jberd993 foreign key (specialty_id) references specialties;
+alter table doctor_specialties add constraint FKas1tsi4uakiu7q90rnvsgvhfv foreign key (doctor_id) references doctors;
+alter table doctors add constraint FKe9pf5qtxxkdyrwibaevo9frtk foreign key (user_id) references users;
+alter table examinations add constraint FKt0pkdiwrfabdc10ct6rphxps7 foreign key (diagnosis_id) references diagnoses;
+alter table examinations add constraint FKd1s6r4pbghrqpx30l2i45mhph foreign key (doctor_id) references doctors;
+alter table examinations add constraint FKhhwmj40sjjepu3egtvgm4rb4m foreign key (patient_id) references patients;
+alter table patients add constraint FK6vssk9cbtyi3ya79bfsaqlrn5 foreign key (gp_id) references doctors;
+alter table patients add constraint FKuwca24wcd1tg6pjex8lmc0y7 foreign key (user_id) references users;
+alter table sick_leaves add constraint FKlogeltsqhniqxg385e23gjatg foreign key (examination_id) references examinations;
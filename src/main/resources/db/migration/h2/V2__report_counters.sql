@@ -0,0 +1,23 @@
+-- Pre-aggregated report counters, kept current by every write that changes them.
+-- Databases upgraded from the baseline start with empty tables; the counters are rebuilt on the next startup.
+
+create table doctor_counters (
+    doctor_id bigint not null,
+    examination_count bigint not null,
+    sick_leave_count bigint not null,
+    primary key (doctor_id)
+);
+
+create table diagnosis_counters (
+    diagnosis_id bigint not null,
+    examination_count bigint not null,
+    primary key (diagnosis_id)
+);
+
+create table sick_leave_monthly_totals (
+    stat_year integer not null,
+    stat_month integer not null,
+    sick_leave_count bigint not null,
+    total_days bigint not null,
+    primary key (stat_month, stat_year)
+);
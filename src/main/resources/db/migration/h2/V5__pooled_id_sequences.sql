@@ -0,0 +1,30 @@
+-- Ids are allocated from pooled sequences, 50 per round trip, instead of identity columns,
+-- so Hibernate can defer inserts to flush and batch them. Each sequence starts past the current ids.
+
+create sequence specialties_seq start with 1 increment by 50;
+alter sequence specialties_seq restart with (select coalesce(max(id), 0) + 50 from specialties);
+alter table specialties alter column id drop identity;
+
+create sequence doctors_seq start with 1 increment by 50;
+alter sequence doctors_seq restart with (select coalesce(max(id), 0) + 50 from doctors);
+alter table doctors alter column id drop identity;
+
+create sequence patients_seq start with 1 increment by 50;
+alter sequence patients_seq restart with (select coalesce(max(id), 0) + 50 from patients);
+alter table patients alter column id drop identity;
+
+create sequence diagnoses_seq start with 1 increment by 50;
+alter sequence diagnoses_seq restart with (select coalesce(max(id), 0) + 50 from diagnoses);
+alter table diagnoses alter column id drop identity;
+
+create sequence examinations_seq start with 1 increment by 50;
+alter sequence examinations_seq restart with (select coalesce(max(id), 0) + 50 from examinations);
+alter table examinations alter column id drop identity;
+
+create sequence sick_leaves_seq start with 1 increment by 50;
+alter sequence sick_leaves_seq restart with (select coalesce(max(id), 0) + 50 from sick_leaves);
+alter table sick_leaves alter column id drop identity;
+
+create sequence users_seq start with 1 increment by 50;
+alter sequence users_seq restart with (select coalesce(max(id), 0) + 50 from users);
+alter table users alter column id drop identity;
@@ -0,0 +1,86 @@
+-- Schema as previously created by ddl-auto=update, constraint names included; existing databases are baselined at this version
+
+create table diagnoses (
+    id bigint not null auto_increment,
+    description varchar(1000),
+    code varchar(255) not null,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table doctor_specialties (
+    doctor_id bigint not null,
+    specialty_id bigint not null,
+    primary key (doctor_id, specialty_id)
+) engine=InnoDB;
+
+create table doctors (
+    is_gp bit not null,
+    id bigint not null auto_increment,
+    user_id bigint,
+    name varchar(255) not null,
+    uin varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table examinations (
+    examination_date date not null,
+    diagnosis_id bigint,
+    doctor_id bigint not null,
+    id bigint not null auto_increment,
+    patient_id bigint not null,
+    prescription varchar(1000),
+    treatment varchar(2000),
+    primary key (id)
+) engine=InnoDB;
+
+create table patients (
+    last_insurance_payment date,
+    gp_id bigint,
+    id bigint not null auto_increment,
+    user_id bigint,
+    egn varchar(10) not null,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table sick_leaves (
+    number_of_days integer not null,
+    start_date date not null,
+    examination_id bigint not null,
+    id bigint not null auto_increment,
+    primary key (id)
+) engine=InnoDB;
+
+create table specialties (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    id bigint not null auto_increment,
+    password varchar(255) not null,
+    username varchar(255) not null,
+    role enum ('ADMIN','DOCTOR','PATIENT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table diagnoses add constraint UK_7mke0mpuyafhn64m80iqlmb1a unique (code);
+alter table doctors add constraint UK_t1f6cueqyjwx5ghew9ar1exe3 unique (user_id);
+alter table doctors add constraint UK_p9g07c92ro1ru9uqgaw4jmnjf unique (uin);
+alter table patients add constraint UK_9tbsl3fmey0eofbm2xj69v4qs unique (user_id);
+alter table patients add constraint UK_hjfd0ljhcshoky6kyru1rc9hp unique (egn);
+alter table sick_leaves add constraint UK_1tsfdvilv7iyx93c77tf5vsxd unique (examination_id);
+alter table specialties add constraint UK_bhb8s9o5hv30lkbidtod9cixc unique (name);
+alter table users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table doctor_specialties add constraint FK8gbyvkfmm5a01nmd5jberd993 foreign key (specialty_id) references specialties (id);
+alter table doctor_specialties add constraint FKas1tsi4uakiu7q90rnvsgvhfv foreign key (doctor_id) references doctors (id);
+alter table doctors add constraint FKe9pf5qtxxkdyrwibaevo9frtk foreign key (user_id) references users (id);
+alter table examinations add constraint FKt0pkdiwrfabdc10ct6rphxps7 foreign key (diagnosis_id) references diagnoses (id);
+alter table examinations add constraint FKd1s6r4pbghrqpx30l2i45mhph foreign key (doctor_id) references doctors (id);
+alter table examinations add constraint FKhhwmj40sjjepu3egtvgm4rb4m foreign key (patient_id) references patients (id);
+alter table patients add constraint FK6vssk9cbtyi3ya79bfsaqlrn5 foreign key (gp_id) references doctors (id);
+alter table patients add constraint FKuwca24wcd1tg6pjex8lmc0y7 foreign key (user_id) references users (id);
+alter table sick_leaves add constraint FKlogeltsqhniqxg385e23gjatg foreign key (examination_id) references examinations (id);
@@ -0,0 +1,27 @@
+-- Indexes for the repository queries beyond the PK, unique and FK ones.
+-- RepositoryQueryPlanTest fails when a query falls back to a full table scan.
+
+-- Patient lookups by name
+create index idx_patients_name on patients (name);
+
+-- Examination list pages, newest first; a descending index lets the page be read in index order
+create index idx_examinations_date_id on examinations (examination_date desc, id desc);
+
+-- Doctor's examinations, optionally in a period, newest first; also the per-doctor counts
+create index idx_examinations_doctor_date on examinations (doctor_id, examination_date, id);
+-- Patient's examinations and the grouped-by-patient report, in patient and date order
+create index idx_examinations_patient_date on examinations (patient_id, examination_date, id);
+
+-- Sick leaves by period
+create index idx_sick_leaves_start_date on sick_leaves (start_date);
+
+-- Patients by insurance status
+create index idx_patients_insurance on patients (last_insurance_payment);
+
+-- GP lists and patients-per-GP report
+create index idx_doctors_is_gp on doctors (is_gp);
+
+-- Counter reports read only the non-zero rows, largest first
+create index idx_doctor_counters_sick_leaves on doctor_counters (sick_leave_count);
+create index idx_diagnosis_counters_examinations on diagnosis_counters (examination_count);
+create index idx_sick_leave_totals_year on sick_leave_monthly_totals (stat_year, stat_month);
@@ -0,0 +1,16 @@
+-- Free-text examination fields move to their own table, so examination scans read only the narrow row.
+-- Examinations with neither a treatment nor a prescription get no detail row.
+create table examination_details (
+    examination_id bigint not null,
+    treatment varchar(2000),
+    prescription varchar(1000),
+    primary key (examination_id),
+    constraint fk_examination_details_examination foreign key (examination_id) references examinations (id) on delete cascade
+) engine=InnoDB;
+
+insert into examination_details (examination_id, treatment, prescription)
+select id, treatment, prescription from examinations
+where treatment is not null or prescription is not null;
+
+alter table examinations drop column treatment;
+alter table examinations drop column prescription;
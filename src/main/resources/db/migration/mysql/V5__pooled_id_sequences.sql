@@ -0,0 +1,36 @@
+-- Ids are allocated from pooled sequences, 50 per round trip, instead of identity columns,
+-- so Hibernate can defer inserts to flush and batch them. Each sequence starts past the current ids.
+-- MySQL has no sequences: Hibernate emulates each one with a single-row next_val table.
+
+-- Dropping auto_increment alters columns that foreign keys reference
+set foreign_key_checks = 0;
+
+create table specialties_seq (next_val bigint) engine=InnoDB;
+insert into specialties_seq select coalesce(max(id), 0) + 50 from specialties;
+alter table specialties modify id bigint not null;
+
+create table doctors_seq (next_val bigint) engine=InnoDB;
+insert into doctors_seq select coalesce(max(id), 0) + 50 from doctors;
+alter table doctors modify id bigint not null;
+
+create table patients_seq (next_val bigint) engine=InnoDB;
+insert into patients_seq select coalesce(max(id), 0) + 50 from patients;
+alter table patients modify id bigint not null;
+
+create table diagnoses_seq (next_val bigint) engine=InnoDB;
+insert into diagnoses_seq select coalesce(max(id), 0) + 50 from diagnoses;
+alter table diagnoses modify id bigint not null;
+
+create table examinations_seq (next_val bigint) engine=InnoDB;
+insert into examinations_seq select coalesce(max(id), 0) + 50 from examinations;
+alter table examinations modify id bigint not null;
+
+create table sick_leaves_seq (next_val bigint) engine=InnoDB;
+insert into sick_leaves_seq select coalesce(max(id), 0) + 50 from sick_leaves;
+alter table sick_leaves modify id bigint not null;
+
+create table users_seq (next_val bigint) engine=InnoDB;
+insert into users_seq select coalesce(max(id), 0) + 50 from users;
+alter table users modify id bigint not null;
+
+set foreign_key_checks = 1;
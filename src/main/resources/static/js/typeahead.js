@@ -0,0 +1,83 @@
+// Typeahead for text inputs marked with data-typeahead-url.
+// The chosen id goes to the hidden input named by data-typeahead-target; typing clears it.
+(function () {
+    const labels = {
+        patient: p => p.name + ' (' + p.egn + ')',
+        doctor: d => d.name + ' (' + d.uin + ')',
+        diagnosis: d => d.code + ' - ' + d.name
+    };
+
+    document.querySelectorAll('input[data-typeahead-url]').forEach(input => {
+        const target = document.getElementById(input.dataset.typeaheadTarget);
+        const param = input.dataset.typeaheadParam || 'q';
+        const label = labels[input.dataset.typeaheadKind];
+        const menu = document.createElement('ul');
+        menu.className = 'dropdown-menu w-100';
+        input.parentElement.classList.add('position-relative');
+        input.after(menu);
+
+        let timer = null;
+        let request = 0;
+
+        input.addEventListener('input', () => {
+            target.value = '';
+            clearTimeout(timer);
+            const query = input.value.trim();
+            if (query.length === 0) {
+                menu.classList.remove('show');
+                return;
+            }
+            timer = setTimeout(() => search(query), 200);
+        });
+
+        input.addEventListener('blur', () => setTimeout(() => menu.classList.remove('show'), 150));
+
+        // Typed text must become a picked item; only an empty optional field means "none"
+        input.form.addEventListener('submit', event => {
+            if (!target.value && (input.required || input.value.trim().length > 0)) {
+                input.setCustomValidity('Изберете от списъка');
+                input.reportValidity();
+                event.preventDefault();
+            }
+        });
+        input.addEventListener('input', () => input.setCustomValidity(''));
+
+        function search(query) {
+            const current = ++request;
+            fetch(input.dataset.typeaheadUrl + '?' + param + '=' + encodeURIComponent(query) + '&limit=10')
+                .then(response => response.ok ? response.json() : [])
+                .then(items => {
+                    if (current === request) {
+                        render(items);
+                    }
+                });
+        }
+
+        function render(items) {
+            menu.innerHTML = '';
+            if (items.length === 0) {
+                const empty = document.createElement('li');
+                empty.className = 'dropdown-item-text text-muted';
+                empty.textContent = 'Няма съвпадения';
+                menu.appendChild(empty);
+            }
+            items.forEach(item => {
+                const option = document.createElement('li');
+                const link = document.createElement('a');
+                link.className = 'dropdown-item';
+                link.href = '#';
+                link.textContent = label(item);
+                link.addEventListener('mousedown', event => {
+                    event.preventDefault();
+                    target.value = item.id;
+                    input.value = label(item);
+                    input.setCustomValidity('');
+                    menu.classList.remove('show');
+                });
+                option.appendChild(link);
+                menu.appendChild(option);
+            });
+            menu.classList.add('show');
+        }
+    });
+})();
@@ -0,0 +1,100 @@
+package com.nbu.medicalrecord.config;
+
+import com.nbu.medicalrecord.entity.Specialty;
+import com.nbu.medicalrecord.repository.SpecialtyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing through JpaTransactionManager, with one EntityManager spanning several transactions as in a web request.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpa-routing-primary;DB_CLOSE_DELAY=-1",
+        "medical-record.datasource.replica.jdbc-url=" + JpaReadWriteRoutingTest.REPLICA_URL,
+        "medical-record.datasource.replica.username=sa"
+})
+class JpaReadWriteRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:jpa-routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final String NAME = "Маршрутизация";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    // The replica follows the primary by replication in production; here it only needs the schema
+    @BeforeAll
+    static void createReplicaSchema() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void writeAfterReadOnlyTransaction_ShouldReachPrimary() {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        TransactionTemplate writeTransaction = new TransactionTemplate(transactionManager);
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            readOnlyTransaction.execute(status -> specialtyRepository.count());
+            writeTransaction.executeWithoutResult(status ->
+                    specialtyRepository.save(Specialty.builder().name(NAME).build()));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        assertEquals(1, count(primaryDataSource));
+        assertEquals(0, count(replicaDataSource));
+    }
+
+    @Test
+    void openInView_ShouldBeOffWithReplica() {
+        assertTrue(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    private static long count(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM specialties WHERE name = ?", Long.class, NAME);
+    }
+}
@@ -0,0 +1,93 @@
+package com.nbu.medicalrecord.config;
+
+import com.nbu.medicalrecord.entity.Specialty;
+import com.nbu.medicalrecord.repository.SpecialtyRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A database created by ddl-auto=update before migrations existed is baselined and upgraded to the latest version.
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + SchemaMigrationTest.URL)
+class SchemaMigrationTest {
+
+    static final String URL = "jdbc:h2:mem:pre-series-upgrade;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    // Runs before the application context starts, so Flyway finds a populated database without a history table
+    @BeforeAll
+    static void createPreSeriesDatabase() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/h2/V1__baseline_schema.sql"));
+            statement.execute("INSERT INTO users (id, username, password, role) VALUES (1, 'admin', 'x', 'ADMIN')");
+            statement.execute("INSERT INTO specialties (id, name) VALUES (7, 'Обща медицина')");
+            statement.execute("INSERT INTO doctors (id, uin, name, is_gp) VALUES (3, '1000000001', 'Д-р Стар', true)");
+            statement.execute("INSERT INTO doctor_specialties (doctor_id, specialty_id) VALUES (3, 7)");
+            statement.execute("INSERT INTO patients (id, name, egn, gp_id) VALUES (4, 'Стар Пациент', '8001010000', 3)");
+            statement.execute("INSERT INTO diagnoses (id, code, name) VALUES (5, 'J06.9', 'Остра инфекция')");
+            statement.execute("INSERT INTO examinations (id, examination_date, patient_id, doctor_id, diagnosis_id, treatment) " +
+                    "VALUES (10, DATE '2024-03-01', 4, 3, 5, 'Почивка')");
+            statement.execute("INSERT INTO examinations (id, examination_date, patient_id, doctor_id) " +
+                    "VALUES (11, DATE '2024-03-15', 4, 3)");
+            statement.execute("INSERT INTO sick_leaves (id, start_date, number_of_days, examination_id) " +
+                    "VALUES (20, DATE '2024-03-01', 5, 10)");
+        }
+    }
+
+    @Test
+    void migrate_ShouldUpgradePreSeriesSchemaToLatestVersion() {
+        MigrationInfo latest = Arrays.stream(flyway.info().all())
+                .max(Comparator.comparing(MigrationInfo::getVersion))
+                .orElseThrow();
+        assertEquals(latest.getVersion(), flyway.info().current().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("1", flyway.info().applied()[0].getVersion().getVersion());
+
+        // Free text moved to the detail table, and only for the examination that had any
+        assertEquals("Почивка", jdbcTemplate.queryForObject(
+                "SELECT treatment FROM examination_details WHERE examination_id = 10", String.class));
+        assertEquals(1, count("SELECT COUNT(*) FROM examination_details"));
+
+        // Counter tables are created empty and filled by the startup rebuild
+        assertEquals(2, count("SELECT examination_count FROM doctor_counters WHERE doctor_id = 3"));
+        assertEquals(1, count("SELECT sick_leave_count FROM doctor_counters WHERE doctor_id = 3"));
+        assertEquals(1, count("SELECT examination_count FROM diagnosis_counters WHERE diagnosis_id = 5"));
+        assertEquals(5, count("SELECT total_days FROM sick_leave_monthly_totals WHERE stat_year = 2024 AND stat_month = 3"));
+    }
+
+    @Test
+    void save_ShouldAllocateIdsPastExistingRows() {
+        Specialty specialty = specialtyRepository.save(Specialty.builder().name("Нова специалност").build());
+
+        assertTrue(specialty.getId() > 7, "id " + specialty.getId());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
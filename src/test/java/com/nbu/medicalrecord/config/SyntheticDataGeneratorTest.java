@@ -0,0 +1,67 @@
+package com.nbu.medicalrecord.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:synthetic-data;DB_CLOSE_DELAY=-1")
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generate_ShouldCreateConsistentSkewedData() {
+        long examinationsBefore = count("SELECT COUNT(*) FROM examinations");
+
+        generator.generate(2_000);
+
+        long examinations = count("SELECT COUNT(*) FROM examinations");
+        assertEquals(examinationsBefore + 2_000, examinations);
+
+        // Roughly one in five examinations gets a sick leave
+        long sickLeaves = count("SELECT COUNT(*) FROM sick_leaves");
+        assertTrue(sickLeaves >= 350 && sickLeaves <= 450, "sick leaves: " + sickLeaves);
+        // Lengths spread from a day to a month rather than a few fixed values
+        long distinctDays = count("SELECT COUNT(DISTINCT number_of_days) FROM sick_leaves");
+        assertTrue(distinctDays > 20, "distinct lengths: " + distinctDays);
+
+        // Report counters are rebuilt from the generated rows
+        assertEquals(examinations, count("SELECT SUM(examination_count) FROM doctor_counters"));
+
+        // The most frequent diagnosis covers far more than a uniform 1/1000 share
+        long topDiagnosis = count("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM examinations " +
+                "WHERE diagnosis_id IS NOT NULL GROUP BY diagnosis_id)");
+        assertTrue(topDiagnosis > 100, "top diagnosis: " + topDiagnosis);
+    }
+
+    @Test
+    void egn_ShouldBeUniqueWithValidChecksum() {
+        int[] weights = {2, 4, 8, 5, 10, 9, 7, 3, 6};
+        HashSet<String> seen = new HashSet<>();
+        for (int index : List.of(0, 1, 365, 29_000, 29_219, 58_438, 1_000_000, 5_000_000)) {
+            String egn = SyntheticDataGenerator.egn(index);
+            assertEquals(10, egn.length());
+            assertTrue(seen.add(egn), "duplicate EGN " + egn);
+
+            int sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += (egn.charAt(i) - '0') * weights[i];
+            }
+            assertEquals(sum % 11 % 10, egn.charAt(9) - '0', egn);
+        }
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
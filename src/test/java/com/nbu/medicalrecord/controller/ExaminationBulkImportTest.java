@@ -0,0 +1,112 @@
+package com.nbu.medicalrecord.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.dto.SickLeaveDto;
+import com.nbu.medicalrecord.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:examination-bulk-import;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class ExaminationBulkImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private ExaminationRepository examinationRepository;
+
+    @Autowired
+    private SickLeaveRepository sickLeaveRepository;
+
+    @Autowired
+    private DoctorCounterRepository doctorCounterRepository;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importBulk_ShouldInsertValidRowsAndReportInvalidOnes() throws Exception {
+        Long patientId = patientRepository.findAll().get(0).getId();
+        Long doctorId = doctorRepository.findAll().get(0).getId();
+        long examinationsBefore = examinationRepository.count();
+        long sickLeavesBefore = sickLeaveRepository.count();
+        long counterBefore = examinationCounter(doctorId);
+
+        ExaminationDto.Request withSickLeave = request(patientId, doctorId);
+        withSickLeave.setSickLeave(SickLeaveDto.Request.builder().startDate(LocalDate.now()).numberOfDays(5).build());
+        ExaminationDto.Request withoutDate = request(patientId, doctorId);
+        withoutDate.setExaminationDate(null);
+
+        String body = String.join("\n",
+                json(withSickLeave),
+                json(request(patientId, doctorId)),
+                "",
+                json(request(999_999L, doctorId)),
+                "{not json",
+                json(withoutDate),
+                json(request(patientId, doctorId)));
+
+        mockMvc.perform(post("/api/examinations/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(6))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].row").value(4))
+                .andExpect(jsonPath("$.errors[0].message").value("Пациент с ID 999999 не е намерен"))
+                .andExpect(jsonPath("$.errors[1].row").value(5))
+                .andExpect(jsonPath("$.errors[2].row").value(6))
+                .andExpect(jsonPath("$.errors[2].message").value("Датата на прегледа е задължителна"));
+
+        assertEquals(examinationsBefore + 3, examinationRepository.count());
+        assertEquals(sickLeavesBefore + 1, sickLeaveRepository.count());
+        assertEquals(counterBefore + 3, examinationCounter(doctorId));
+    }
+
+    @Test
+    @WithMockUser(roles = "PATIENT")
+    void importBulk_AsPatient_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(post("/api/examinations/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+    }
+
+    private long examinationCounter(Long doctorId) {
+        return doctorCounterRepository.findById(doctorId).map(c -> c.getExaminationCount()).orElse(0L);
+    }
+
+    private ExaminationDto.Request request(Long patientId, Long doctorId) {
+        return ExaminationDto.Request.builder()
+                .examinationDate(LocalDate.now())
+                .patientId(patientId)
+                .doctorId(doctorId)
+                .treatment("Почивка")
+                .build();
+    }
+
+    private String json(ExaminationDto.Request request) throws Exception {
+        return objectMapper.writeValueAsString(request);
+    }
+}
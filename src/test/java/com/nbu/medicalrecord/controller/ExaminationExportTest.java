@@ -0,0 +1,142 @@
+package com.nbu.medicalrecord.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.repository.DoctorRepository;
+import com.nbu.medicalrecord.repository.PatientRepository;
+import com.nbu.medicalrecord.service.ExaminationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:examination-export;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ExaminationExportTest {
+
+    private static final LocalDate DAY = LocalDate.of(2023, 3, 15);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExaminationService examinationService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @BeforeEach
+    void setUp() {
+        Long patientId = patientRepository.findAll().get(0).getId();
+        Long doctorId = doctorRepository.findAll().get(0).getId();
+        for (int i = 0; i < 3; i++) {
+            examinationService.create(ExaminationDto.Request.builder()
+                    .examinationDate(DAY.plusDays(i))
+                    .patientId(patientId)
+                    .doctorId(doctorId)
+                    .treatment("Почивка")
+                    .build());
+        }
+    }
+
+    @Test
+    void exportInPeriod_ShouldStreamCsvRowsInDateOrder() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/examinations/reports/by-period/export")
+                        .param("startDate", DAY.toString())
+                        .param("endDate", DAY.plusDays(1).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"examinations-2023-03-15-2023-03-16.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertTrue(lines[0].startsWith("id,examination_date,"));
+        assertEquals(1 + examinationService.getAllInPeriod(DAY, DAY.plusDays(1)).size(), lines.length);
+        assertTrue(lines[1].contains(",2023-03-15,"));
+        assertTrue(lines[lines.length - 1].contains(",2023-03-16,"));
+    }
+
+    @Test
+    void exportInPeriod_ShouldStreamNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/examinations/reports/by-period/export")
+                        .param("startDate", DAY.plusDays(2).toString())
+                        .param("endDate", DAY.plusDays(2).toString())
+                        .param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        for (String line : body.split("\n")) {
+            assertTrue(line.startsWith("{") && line.contains("\"examinationDate\":\"2023-03-17\""));
+        }
+    }
+
+    @Test
+    void groupedByPatient_ShouldPageByPatientAndStreamAsNdjson() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get("/api/examinations/reports/by-patient").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andReturn();
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+        Integer firstPatientId = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.content[0].patient.id");
+
+        MvcResult started = mockMvc.perform(get("/api/examinations/reports/by-patient")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] lines = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(firstPatientId, JsonPath.read(lines[0], "$.patient.id"));
+
+        // Cursor pages cover the same patients as the stream, in the same order
+        int patients = 1;
+        while (cursor != null) {
+            String page = mockMvc.perform(get("/api/examinations/reports/by-patient")
+                            .param("cursor", cursor)
+                            .param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertEquals(JsonPath.<Integer>read(lines[patients], "$.patient.id"), JsonPath.read(page, "$.content[0].patient.id"));
+            cursor = JsonPath.read(page, "$.nextCursor");
+            patients++;
+        }
+        assertEquals(lines.length, patients);
+    }
+
+    @Test
+    void exportInPeriod_ShouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/examinations/reports/by-period/export")
+                        .param("startDate", DAY.toString())
+                        .param("endDate", DAY.toString())
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,102 @@
+package com.nbu.medicalrecord.controller;
+
+import com.nbu.medicalrecord.entity.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * List pages issue the same number of statements however many doctors, GPs and specialties the rows reference.
+ * The second-level cache is cleared before each request, so every count is a cold read.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:list-page-query-count;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ListPageQueryCountTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private int seeded;
+
+    @Test
+    void listPages_ShouldIssueConstantStatementCount() throws Exception {
+        seed(2);
+        long patients = countStatements("/patients");
+        long examinations = countStatements("/examinations");
+        long doctors = countStatements("/doctors");
+
+        seed(15);
+        assertEquals(patients, countStatements("/patients"));
+        assertEquals(examinations, countStatements("/examinations"));
+        assertEquals(doctors, countStatements("/doctors"));
+    }
+
+    // Each round adds GPs with two specialties each, one patient per GP and one examination per patient
+    private void seed(int count) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < count; i++, seeded++) {
+                Specialty first = Specialty.builder().name("Специалност А" + seeded).build();
+                Specialty second = Specialty.builder().name("Специалност Б" + seeded).build();
+                entityManager.persist(first);
+                entityManager.persist(second);
+
+                Doctor gp = Doctor.builder()
+                        .uin(String.format("LQ-%06d", seeded))
+                        .name("Д-р Личен " + seeded)
+                        .isGp(true)
+                        .specialties(Set.of(first, second))
+                        .build();
+                entityManager.persist(gp);
+
+                Patient patient = Patient.builder()
+                        .name("Пациент " + seeded)
+                        .egn(String.format("%010d", 6_000_000_000L + seeded))
+                        .lastInsurancePayment(START)
+                        .gp(gp)
+                        .build();
+                entityManager.persist(patient);
+
+                entityManager.persist(Examination.builder()
+                        .examinationDate(START.plusDays(seeded))
+                        .patient(patient)
+                        .doctor(gp)
+                        .build());
+            }
+        });
+    }
+
+    private long countStatements(String path) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(path)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,64 @@
+package com.nbu.medicalrecord.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:typeahead-search;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class TypeaheadSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void patientSearch_ShouldMatchEgnOrTransliteratedNamePrefix() throws Exception {
+        mockMvc.perform(get("/api/patients/search").param("q", "8501"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].egn").value("8501011234"));
+
+        mockMvc.perform(get("/api/patients/search").param("q", "мария ив"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Мария Иванова"));
+
+        mockMvc.perform(get("/api/patients/search").param("q", "ivanova"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Мария Иванова"));
+
+        mockMvc.perform(get("/api/patients/search").param("q", "%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void doctorAndDiagnosisSearch_ShouldReturnTopMatches() throws Exception {
+        mockMvc.perform(get("/api/doctors/search").param("q", "петров"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Д-р Иван Петров"));
+
+        mockMvc.perform(get("/api/diagnoses/search").param("name", "бронхит").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].code").value("J20.9"));
+    }
+
+    @Test
+    void examinationForm_ShouldNotPreloadSelectLists() throws Exception {
+        mockMvc.perform(get("/examinations/new"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("data-typeahead-url=\"/api/patients/search\"")))
+                .andExpect(content().string(not(containsString("Георги Димитров"))));
+    }
+}
@@ -0,0 +1,82 @@
+package com.nbu.medicalrecord.repository;
+
+import com.nbu.medicalrecord.service.StatisticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two transactions writing the first counter row for the same key both commit, and both deltas are kept.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:counter-upserts;DB_CLOSE_DELAY=-1")
+class CounterUpsertsTest {
+
+    private static final long DOCTOR_ID = 9_000_001L;
+    private static final LocalDate SICK_LEAVE_START = LocalDate.of(1999, 2, 10);
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentFirstWrites_ShouldBothCount() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch firstWritten = new CountDownLatch(1);
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                statisticsService.adjustDoctorCounters(DOCTOR_ID, 1, 1);
+                statisticsService.adjustSickLeaveMonth(SICK_LEAVE_START, 1, 5);
+                firstWritten.countDown();
+                // Keep the new rows uncommitted while the second transaction tries to insert them too
+                sleep(300);
+            }));
+
+            firstWritten.await(10, TimeUnit.SECONDS);
+            transactionTemplate.executeWithoutResult(status -> {
+                statisticsService.adjustDoctorCounters(DOCTOR_ID, 1, 0);
+                statisticsService.adjustSickLeaveMonth(SICK_LEAVE_START, 1, 3);
+            });
+            first.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, count("SELECT examination_count FROM doctor_counters WHERE doctor_id = " + DOCTOR_ID));
+        assertEquals(1, count("SELECT sick_leave_count FROM doctor_counters WHERE doctor_id = " + DOCTOR_ID));
+        assertEquals(2, count("SELECT sick_leave_count FROM sick_leave_monthly_totals WHERE stat_year = 1999 AND stat_month = 2"));
+        assertEquals(8, count("SELECT total_days FROM sick_leave_monthly_totals WHERE stat_year = 1999 AND stat_month = 2"));
+    }
+
+    @Test
+    void adjust_ShouldAddToExistingRow() {
+        long diagnosisId = 9_000_002L;
+        transactionTemplate.executeWithoutResult(status -> statisticsService.adjustDiagnosisCounter(diagnosisId, 2));
+        transactionTemplate.executeWithoutResult(status -> statisticsService.adjustDiagnosisCounter(diagnosisId, -1));
+
+        assertEquals(1, count("SELECT examination_count FROM diagnosis_counters WHERE diagnosis_id = " + diagnosisId));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
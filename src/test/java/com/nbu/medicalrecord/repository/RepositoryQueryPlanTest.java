@@ -0,0 +1,158 @@
+package com.nbu.medicalrecord.repository;
+
+import com.nbu.medicalrecord.config.SyntheticDataGenerator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every @Query in the repository package against generated data, captures the SQL Hibernate sends
+ * and checks the H2 plan of each statement for full table scans.
+ * Queries that read a whole table by design (rebuilds, full lists and exports) are listed in WHOLE_TABLE_READS.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:repository-query-plan;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.nbu.medicalrecord.repository.RepositoryQueryPlanTest$RecordingInspector"
+})
+class RepositoryQueryPlanTest {
+
+    private static final Map<String, String> WHOLE_TABLE_READS = Map.ofEntries(
+            Map.entry("ExaminationRepository.findAllRows", "full list"),
+            Map.entry("ExaminationRepository.streamAllOrderByPatient", "full export"),
+            Map.entry("DoctorCounterRepository.insertFromExaminations", "counter rebuild"),
+            Map.entry("DiagnosisCounterRepository.insertFromExaminations", "counter rebuild"),
+            Map.entry("SickLeaveMonthlyTotalRepository.insertFromSickLeaves", "counter rebuild"),
+            Map.entry("DoctorCounterRepository.findExaminationCounts", "every doctor, with or without examinations"),
+            Map.entry("DiagnosisCounterRepository.findCodeCounts", "rollup over every counted code"),
+            Map.entry("DoctorRepository.findSummaries", "substring match on a small table"));
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void repositoryQueries_ShouldNotScanWholeTables() throws Exception {
+        generator.generate(5_000);
+        jdbcTemplate.execute("ANALYZE");
+
+        List<String> failures = new ArrayList<>();
+        for (Object bean : applicationContext.getBeansOfType(Repository.class).values()) {
+            for (Class<?> repository : AopProxyUtils.proxiedUserInterfaces(bean)) {
+                if (!repository.getPackageName().equals(getClass().getPackageName())) {
+                    continue;
+                }
+                for (Method method : repository.getDeclaredMethods()) {
+                    String name = repository.getSimpleName() + "." + method.getName();
+                    if (!method.isAnnotationPresent(Query.class) || WHOLE_TABLE_READS.containsKey(name)) {
+                        continue;
+                    }
+                    for (String sql : capture(bean, method)) {
+                        String plan = explain(sql);
+                        if (plan.contains(".tableScan")) {
+                            failures.add(name + ":\n" + plan);
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), "Full table scans:\n" + String.join("\n\n", failures));
+    }
+
+    // SQL of one repository call with sample arguments, rolled back
+    private List<String> capture(Object repository, Method method) {
+        List<String> statements = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            RecordingInspector.STATEMENTS.clear();
+            try {
+                Object result = method.invoke(repository, sampleArguments(method));
+                if (result instanceof Stream<?> stream) {
+                    try (stream) {
+                        stream.limit(1).forEach(row -> { });
+                    }
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(method.toString(), e);
+            }
+            statements.addAll(RecordingInspector.STATEMENTS);
+            status.setRollbackOnly();
+        });
+        return statements;
+    }
+
+    private static Object[] sampleArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = types[i];
+            if (type == Long.class || type == long.class) {
+                arguments[i] = 1L;
+            } else if (type == int.class || type == Integer.class) {
+                arguments[i] = 2024;
+            } else if (type == LocalDate.class) {
+                arguments[i] = LocalDate.now().minusMonths(i == 0 ? 6 : 3);
+            } else if (type == String.class) {
+                arguments[i] = "A%";
+            } else if (Collection.class.isAssignableFrom(type)) {
+                arguments[i] = List.of(1L, 2L, 3L);
+            } else if (type == Pageable.class) {
+                arguments[i] = PageRequest.of(0, 20);
+            } else {
+                throw new IllegalArgumentException("No sample value for " + type + " in " + method);
+            }
+        }
+        return arguments;
+    }
+
+    // Plans do not depend on parameter values in H2, so every parameter is bound to null
+    private String explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1));
+            }
+            return plan.toString();
+        });
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.nbu.medicalrecord.search;
+
+import com.nbu.medicalrecord.dto.DiagnosisDto;
+import com.nbu.medicalrecord.entity.Diagnosis;
+import com.nbu.medicalrecord.repository.DiagnosisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DiagnosisSearchIndexTest {
+
+    @Mock
+    private DiagnosisRepository diagnosisRepository;
+
+    @InjectMocks
+    private DiagnosisSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(diagnosisRepository.findAll()).thenReturn(List.of(
+                diagnosis(1L, "J06.9", "Остра инфекция на горните дихателни пътища"),
+                diagnosis(2L, "J20.9", "Остър бронхит"),
+                diagnosis(3L, "I10", "Есенциална (първична) хипертония"),
+                diagnosis(4L, "J45", "Астма")));
+        index.rebuild();
+    }
+
+    @Test
+    void search_ShouldFoldCyrillicCaseAndRankPrefixMatchesFirst() {
+        assertEquals(List.of("J20.9", "J06.9"), codes(index.search("ОСТ", 10)));
+        assertEquals(List.of("I10"), codes(index.search("хипертония", 10)));
+        assertEquals(List.of("J06.9"), codes(index.search("дихателни инфекция", 10)));
+    }
+
+    @Test
+    void search_ShouldMatchCodesAndTolerateTypos() {
+        assertEquals("J06.9", index.search("j06.9", 10).get(0).getCode());
+        assertEquals(List.of("J06.9", "J20.9", "J45"), codes(index.search("J", 10)));
+        assertEquals(List.of("J20.9"), codes(index.search("бронхат", 10)));
+        assertTrue(index.search("диабет", 10).isEmpty());
+    }
+
+    @Test
+    void putAndRemove_ShouldUpdateIndexIncrementally() {
+        index.put(DiagnosisDto.Response.builder().id(2L).code("J20.9").name("Остър трахеит").build());
+        index.put(DiagnosisDto.Response.builder().id(5L).code("E11").name("Захарен диабет тип 2").build());
+        index.remove(4L);
+
+        assertTrue(index.search("бронхит", 10).isEmpty());
+        assertEquals(List.of("J20.9"), codes(index.search("трахеит", 10)));
+        assertEquals(List.of("E11"), codes(index.search("диабет", 10)));
+        assertTrue(index.search("астма", 10).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void putAndRemove_ShouldReuseDocumentNumbers() {
+        for (int i = 0; i < 50; i++) {
+            index.put(DiagnosisDto.Response.builder().id(2L).code("J20.9")
+                    .name(i % 2 == 0 ? "Остър трахеит" : "Остър бронхит").build());
+        }
+        index.remove(1L);
+        index.put(DiagnosisDto.Response.builder().id(5L).code("E11").name("Захарен диабет тип 2").build());
+
+        assertEquals(4, index.capacity());
+        assertEquals(List.of("J20.9"), codes(index.search("бронхит", 10)));
+        assertEquals(List.of("E11"), codes(index.search("диабет", 10)));
+        assertEquals(List.of("J20.9", "J45"), codes(index.findByCodePrefix("J", 10)));
+    }
+
+    @Test
+    void findByCodePrefix_ShouldReturnCodesInOrder() {
+        assertEquals(List.of("J06.9", "J20.9", "J45"), codes(index.findByCodePrefix("j", 10)));
+        assertEquals(List.of("J06.9"), codes(index.findByCodePrefix("J0", 10)));
+        assertEquals(List.of("J06.9", "J20.9"), codes(index.findByCodePrefix("J", 2)));
+        assertTrue(index.findByCodePrefix("K", 10).isEmpty());
+        assertEquals(Icd10Chapter.X, Icd10Chapter.of("J06.9").orElseThrow());
+        assertEquals(Icd10Chapter.XIX, Icd10Chapter.of("T14").orElseThrow());
+    }
+
+    private static Diagnosis diagnosis(Long id, String code, String name) {
+        return Diagnosis.builder().id(id).code(code).name(name).build();
+    }
+
+    private static List<String> codes(List<DiagnosisDto.Response> results) {
+        return results.stream().map(DiagnosisDto.Response::getCode).collect(Collectors.toList());
+    }
+}
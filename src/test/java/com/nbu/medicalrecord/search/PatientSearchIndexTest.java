@@ -0,0 +1,97 @@
+package com.nbu.medicalrecord.search;
+
+import com.nbu.medicalrecord.dto.PatientDto;
+import com.nbu.medicalrecord.entity.Patient;
+import com.nbu.medicalrecord.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PatientSearchIndexTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @InjectMocks
+    private PatientSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(patientRepository.findAll()).thenReturn(List.of(
+                patient(1L, "Георги Димитров", "8501011234", LocalDate.now()),
+                patient(2L, "Мария Иванова", "9002022345", null),
+                patient(3L, "Иван Георгиев", "8507073456", LocalDate.now()),
+                patient(4L, "Жана Щерева", "7703034567", LocalDate.now())));
+        index.rebuild();
+    }
+
+    @Test
+    void search_ShouldMatchWordPrefixesInEitherAlphabet() {
+        assertEquals(List.of("Иван Георгиев", "Мария Иванова"), names(index.search("иван", 10)));
+        assertEquals(List.of("Иван Георгиев", "Мария Иванова"), names(index.search("Ivan", 10)));
+        assertEquals(List.of("Жана Щерева"), names(index.search("zhana shte", 10)));
+        assertEquals(List.of("Георги Димитров"), names(index.search("дим гео", 10)));
+        assertTrue(index.search("petrov", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRankNameStartBeforeOtherWords() {
+        assertEquals(List.of("Георги Димитров", "Иван Георгиев"), names(index.search("гео", 10)));
+        assertEquals(List.of("Георги Димитров"), names(index.search("гео", 1)));
+    }
+
+    @Test
+    void search_ShouldMatchEgnPrefixInEgnOrder() {
+        List<PatientDto.Summary> results = index.search("850", 10);
+
+        assertEquals(List.of("8501011234", "8507073456"),
+                results.stream().map(PatientDto.Summary::getEgn).collect(Collectors.toList()));
+        assertTrue(results.get(0).isHasValidInsurance());
+        assertFalse(index.search("9002", 10).get(0).isHasValidInsurance());
+    }
+
+    @Test
+    void putAndRemove_ShouldUpdateIndexIncrementally() {
+        index.put(2L, "Мария Петрова", "9002022345", null);
+        index.put(5L, "Петър Петров", "6604045678", LocalDate.now());
+        index.remove(4L);
+
+        assertEquals(List.of("Иван Георгиев"), names(index.search("иван", 10)));
+        assertEquals(List.of("Мария Петрова", "Петър Петров"), names(index.search("petrov", 10)));
+        assertTrue(index.search("жана", 10).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void putAndRemove_ShouldReuseDocumentNumbers() {
+        for (int i = 0; i < 50; i++) {
+            index.put(1L, i % 2 == 0 ? "Георги Петров" : "Георги Димитров", "8501011234", LocalDate.now());
+        }
+        index.remove(2L);
+        index.put(5L, "Ана Петрова", "6604045678", null);
+
+        assertEquals(4, index.capacity());
+        assertEquals(List.of("Георги Димитров", "Иван Георгиев"), names(index.search("гео", 10)));
+        assertEquals(List.of("Ана Петрова"), names(index.search("petrov", 10)));
+        assertTrue(index.search("мария", 10).isEmpty());
+    }
+
+    private static List<String> names(List<PatientDto.Summary> results) {
+        return results.stream().map(PatientDto.Summary::getName).collect(Collectors.toList());
+    }
+
+    private static Patient patient(Long id, String name, String egn, LocalDate lastInsurancePayment) {
+        return Patient.builder().id(id).name(name).egn(egn).lastInsurancePayment(lastInsurancePayment).build();
+    }
+}
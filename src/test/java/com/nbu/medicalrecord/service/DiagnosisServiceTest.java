@@ -0,0 +1,76 @@
+package com.nbu.medicalrecord.service;
+
+import com.nbu.medicalrecord.dto.DiagnosisDto;
+import com.nbu.medicalrecord.dto.ReportDto;
+import com.nbu.medicalrecord.repository.DiagnosisCounterRepository;
+import com.nbu.medicalrecord.repository.DiagnosisRepository;
+import com.nbu.medicalrecord.search.DiagnosisSearchIndex;
+import com.nbu.medicalrecord.service.impl.DiagnosisServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DiagnosisServiceTest {
+
+    @Mock
+    private DiagnosisRepository diagnosisRepository;
+
+    @Mock
+    private DiagnosisCounterRepository diagnosisCounterRepository;
+
+    @Mock
+    private DiagnosisSearchIndex diagnosisSearchIndex;
+
+    @InjectMocks
+    private DiagnosisServiceImpl diagnosisService;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> codeCounts = new ArrayList<>();
+        codeCounts.add(new Object[]{"J06.9", 5L});
+        codeCounts.add(new Object[]{"J06.0", 2L});
+        codeCounts.add(new Object[]{"J20.9", 4L});
+        codeCounts.add(new Object[]{"I10", 6L});
+        when(diagnosisCounterRepository.findCodeCounts()).thenReturn(codeCounts);
+        lenient().when(diagnosisSearchIndex.findByCode(anyString())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void getFrequencyRollup_ByChapter_ShouldSumCategoriesOfEachChapter() {
+        List<ReportDto.CodeGroupFrequency> chapters =
+                diagnosisService.getFrequencyRollup(ReportDto.RollupLevel.CHAPTER, null, null);
+
+        assertEquals(2, chapters.size());
+        assertEquals("X", chapters.get(0).getCode());
+        assertEquals(11, chapters.get(0).getFrequency());
+        assertEquals("IX", chapters.get(1).getCode());
+        assertEquals(6, chapters.get(1).getFrequency());
+    }
+
+    @Test
+    void getFrequencyRollup_ByCategoryInRange_ShouldKeepOnlyTheBlock() {
+        when(diagnosisSearchIndex.findByCode("J06"))
+                .thenReturn(Optional.of(DiagnosisDto.Response.builder().code("J06").name("Остра инфекция").build()));
+
+        List<ReportDto.CodeGroupFrequency> categories =
+                diagnosisService.getFrequencyRollup(ReportDto.RollupLevel.CATEGORY, "J00", "J06");
+
+        assertEquals(1, categories.size());
+        assertEquals("J06", categories.get(0).getCode());
+        assertEquals("Остра инфекция", categories.get(0).getName());
+        assertEquals(7, categories.get(0).getFrequency());
+    }
+}
@@ -4,7 +4,9 @@ import com.nbu.medicalrecord.dto.DoctorDto;
 import com.nbu.medicalrecord.entity.Doctor;
 import com.nbu.medicalrecord.exception.DuplicateResourceException;
 import com.nbu.medicalrecord.exception.ResourceNotFoundException;
+import com.nbu.medicalrecord.repository.DoctorCounterRepository;
 import com.nbu.medicalrecord.repository.DoctorRepository;
+import com.nbu.medicalrecord.repository.PatientRepository;
 import com.nbu.medicalrecord.repository.SpecialtyRepository;
 import com.nbu.medicalrecord.service.impl.DoctorServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -31,6 +34,15 @@ class DoctorServiceTest {
     @Mock
     private SpecialtyRepository specialtyRepository;
 
+    @Mock
+    private DoctorCounterRepository doctorCounterRepository;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private DoctorServiceImpl doctorService;
 
@@ -110,6 +122,7 @@ class DoctorServiceTest {
 
         doctorService.delete(1L);
 
+        verify(doctorCounterRepository).deleteByDoctorId(1L);
         verify(doctorRepository).delete(doctor);
     }
 }
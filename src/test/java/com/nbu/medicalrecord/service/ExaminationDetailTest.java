@@ -0,0 +1,86 @@
+package com.nbu.medicalrecord.service;
+
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.repository.DoctorRepository;
+import com.nbu.medicalrecord.repository.ExaminationDetailRepository;
+import com.nbu.medicalrecord.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Treatment and prescription are stored apart from the examination row and returned only by single-examination reads.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:examination-detail;DB_CLOSE_DELAY=-1")
+@Transactional
+class ExaminationDetailTest {
+
+    @Autowired
+    private ExaminationService examinationService;
+
+    @Autowired
+    private ExaminationDetailRepository examinationDetailRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void freeText_ShouldBeReturnedByGetByIdOnly() {
+        Long id = examinationService.create(request("Почивка", "Парацетамол")).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        ExaminationDto.Response examination = examinationService.getById(id);
+        assertEquals("Почивка", examination.getTreatment());
+        assertEquals("Парацетамол", examination.getPrescription());
+
+        ExaminationDto.Response row = examinationService.getByPatientId(examination.getPatient().getId()).stream()
+                .filter(item -> item.getId().equals(id))
+                .findFirst()
+                .orElseThrow();
+        assertNull(row.getTreatment());
+        assertNull(row.getPrescription());
+    }
+
+    @Test
+    void detail_ShouldExistOnlyWhileExaminationHasFreeText() {
+        Long id = examinationService.create(request(null, null)).getId();
+        assertFalse(examinationDetailRepository.existsById(id));
+
+        examinationService.update(id, request("Физиотерапия", null));
+        assertTrue(examinationDetailRepository.existsById(id));
+
+        examinationService.update(id, request("", null));
+        entityManager.flush();
+        assertFalse(examinationDetailRepository.existsById(id));
+
+        examinationService.update(id, request(null, "Ибупрофен"));
+        entityManager.flush();
+        entityManager.clear();
+        examinationService.delete(id);
+        entityManager.flush();
+        assertFalse(examinationDetailRepository.existsById(id));
+    }
+
+    private ExaminationDto.Request request(String treatment, String prescription) {
+        return ExaminationDto.Request.builder()
+                .examinationDate(LocalDate.of(2024, 3, 1))
+                .patientId(patientRepository.findAll().get(0).getId())
+                .doctorId(doctorRepository.findAll().get(0).getId())
+                .treatment(treatment)
+                .prescription(prescription)
+                .build();
+    }
+}
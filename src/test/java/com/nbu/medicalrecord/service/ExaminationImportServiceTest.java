@@ -0,0 +1,91 @@
+package com.nbu.medicalrecord.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nbu.medicalrecord.dto.ExaminationDto;
+import com.nbu.medicalrecord.entity.Examination;
+import com.nbu.medicalrecord.repository.DiagnosisRepository;
+import com.nbu.medicalrecord.repository.DoctorRepository;
+import com.nbu.medicalrecord.repository.EntityIdAllocator;
+import com.nbu.medicalrecord.repository.PatientRepository;
+import com.nbu.medicalrecord.service.impl.ExaminationImportServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExaminationImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityIdAllocator idAllocator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private DiagnosisRepository diagnosisRepository;
+
+    @Mock
+    private StatisticsService statisticsService;
+
+    private ExaminationImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ExaminationImportServiceImpl(new ObjectMapper().registerModule(new JavaTimeModule()),
+                Validation.buildDefaultValidatorFactory().getValidator(), jdbcTemplate, idAllocator,
+                transactionTemplate, patientRepository, doctorRepository, diagnosisRepository, statisticsService);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void importNdjson_WhenChunkWriteFails_ShouldReportEachRowOnce() {
+        when(patientRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1L));
+        when(doctorRepository.findExistingIds(anyCollection())).thenReturn(Set.of(2L));
+        when(idAllocator.allocate(Examination.class, 2)).thenReturn(new long[]{100L, 101L});
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("constraint"));
+
+        String body = String.join("\n",
+                "{\"examinationDate\":\"2024-03-01\",\"patientId\":1,\"doctorId\":2}",
+                "{\"examinationDate\":\"2024-03-01\",\"patientId\":999,\"doctorId\":2}",
+                "{\"examinationDate\":\"2024-03-02\",\"patientId\":1,\"doctorId\":2}");
+
+        ExaminationDto.BulkResult result = importService.importNdjson(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(0, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals(2, result.getErrors().get(1).getRow());
+        assertEquals("Пациент с ID 999 не е намерен", result.getErrors().get(1).getMessage());
+        assertEquals(3, result.getErrors().get(2).getRow());
+    }
+}
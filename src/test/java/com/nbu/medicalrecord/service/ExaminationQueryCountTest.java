@@ -0,0 +1,155 @@
+package com.nbu.medicalrecord.service;
+
+import com.nbu.medicalrecord.entity.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that examination list paths issue a constant number of statements,
+ * no matter how many examinations (and distinct patients) they return.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:examination-query-count;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class ExaminationQueryCountTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private ExaminationService examinationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Doctor doctor;
+    private Diagnosis diagnosis;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        Specialty specialty = Specialty.builder().name("Тестова специалност").build();
+        entityManager.persist(specialty);
+
+        doctor = Doctor.builder()
+                .uin("QC-000001")
+                .name("Д-р Тест")
+                .isGp(true)
+                .specialties(Set.of(specialty))
+                .build();
+        entityManager.persist(doctor);
+
+        diagnosis = Diagnosis.builder().code("QC1.0").name("Тестова диагноза").build();
+        entityManager.persist(diagnosis);
+    }
+
+    @Test
+    void listPaths_ShouldIssueConstantStatementCount() {
+        seedExaminations(3);
+        long getAllSmall = countStatements(() -> examinationService.getAll());
+        long pageSmall = countStatements(() -> examinationService.getPage(null, 100));
+        long byDoctorSmall = countStatements(() -> examinationService.getByDoctorId(doctor.getId()));
+        long periodSmall = countStatements(() -> examinationService.getAllInPeriod(START, START.plusYears(1)));
+        long doctorPeriodSmall = countStatements(() ->
+                examinationService.getByDoctorInPeriod(doctor.getId(), START, START.plusYears(1)));
+        long groupedSmall = countStatements(() -> examinationService.getExaminationsGroupedByPatient(null, 100));
+
+        seedExaminations(30);
+        assertEquals(getAllSmall, countStatements(() -> examinationService.getAll()));
+        assertEquals(pageSmall, countStatements(() -> examinationService.getPage(null, 100)));
+        assertEquals(byDoctorSmall, countStatements(() -> examinationService.getByDoctorId(doctor.getId())));
+        assertEquals(periodSmall, countStatements(() -> examinationService.getAllInPeriod(START, START.plusYears(1))));
+        assertEquals(doctorPeriodSmall, countStatements(() ->
+                examinationService.getByDoctorInPeriod(doctor.getId(), START, START.plusYears(1))));
+        assertEquals(groupedSmall, countStatements(() -> examinationService.getExaminationsGroupedByPatient(null, 100)));
+    }
+
+    @Test
+    void getByPatientId_ShouldUseSingleStatement() {
+        Long patientId = seedExaminations(10);
+
+        assertEquals(1, countStatements(() -> examinationService.getByPatientId(patientId)));
+    }
+
+    @Test
+    void listPaths_ShouldNotLoadManagedEntities() {
+        seedExaminations(10);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        countStatements(() -> examinationService.getPage(null, 20));
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        countStatements(() -> examinationService.getExaminationsGroupedByPatient(null, 100));
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void persist_ShouldBatchInsertsPerTable() {
+        // 40 patients and examinations, 20 sick leaves: one batched insert per table, plus a sequence call
+        // per table for each block of 50 ids started
+        long statements = countStatements(() -> seedExaminations(40));
+
+        assertTrue(statements <= 9, "statements: " + statements);
+    }
+
+    /**
+     * Seeds one new patient per examination so that patient lookups would grow with the row count.
+     * Returns the id of the last patient seeded.
+     */
+    private Long seedExaminations(int count) {
+        Patient patient = null;
+        for (int i = 0; i < count; i++) {
+            patient = Patient.builder()
+                    .name("Пациент " + seeded)
+                    .egn(String.format("%010d", 7_000_000_000L + seeded))
+                    .lastInsurancePayment(START)
+                    .gp(doctor)
+                    .build();
+            entityManager.persist(patient);
+
+            Examination examination = Examination.builder()
+                    .examinationDate(START.plusDays(seeded % 300))
+                    .patient(patient)
+                    .doctor(doctor)
+                    .diagnosis(diagnosis)
+                    .build();
+            if (seeded % 2 == 0) {
+                examination.setSickLeave(SickLeave.builder()
+                        .startDate(examination.getExaminationDate())
+                        .numberOfDays(3)
+                        .examination(examination)
+                        .build());
+            }
+            entityManager.persist(examination);
+            seeded++;
+        }
+        entityManager.flush();
+        return patient.getId();
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,83 @@
+package com.nbu.medicalrecord.service;
+
+import com.nbu.medicalrecord.entity.*;
+import com.nbu.medicalrecord.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Entities are bytecode-enhanced at build time, so inverse one-to-ones load only when accessed.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:lazy-association;DB_CLOSE_DELAY=-1")
+@Transactional
+class LazyAssociationTest {
+
+    @Autowired
+    private SickLeaveService sickLeaveService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void entities_ShouldBeEnhanced() {
+        for (Class<?> entity : new Class<?>[]{Examination.class, SickLeave.class, User.class, Patient.class, Doctor.class}) {
+            assertTrue(PersistentAttributeInterceptable.class.isAssignableFrom(entity), entity.getSimpleName());
+            assertTrue(SelfDirtinessTracker.class.isAssignableFrom(entity), entity.getSimpleName());
+        }
+    }
+
+    @Test
+    void userLookup_ShouldNotLoadDoctorOrPatient() {
+        assertEquals(1, countStatements(() -> userRepository.findByUsername("doctor1").orElseThrow()));
+    }
+
+    @Test
+    void sickLeaveList_ShouldNotLoadExaminations() {
+        Patient patient = entityManager.createQuery("SELECT p FROM Patient p", Patient.class).setMaxResults(1).getSingleResult();
+        for (int i = 0; i < 5; i++) {
+            Examination examination = Examination.builder()
+                    .examinationDate(LocalDate.of(2024, 5, 1 + i))
+                    .patient(patient)
+                    .doctor(patient.getGp())
+                    .build();
+            examination.setSickLeave(SickLeave.builder()
+                    .startDate(examination.getExaminationDate())
+                    .numberOfDays(3)
+                    .examination(examination)
+                    .build());
+            entityManager.persist(examination);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertEquals(1, countStatements(() -> sickLeaveService.getAll()));
+        assertEquals(0, statistics.getEntityStatistics(Examination.class.getName()).getLoadCount());
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
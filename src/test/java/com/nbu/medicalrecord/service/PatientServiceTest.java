@@ -3,11 +3,13 @@ package com.nbu.medicalrecord.service;
 import com.nbu.medicalrecord.dto.PatientDto;
 import com.nbu.medicalrecord.entity.Doctor;
 import com.nbu.medicalrecord.entity.Patient;
+import com.nbu.medicalrecord.entity.User;
 import com.nbu.medicalrecord.exception.DuplicateResourceException;
 import com.nbu.medicalrecord.exception.ResourceNotFoundException;
 import com.nbu.medicalrecord.exception.ValidationException;
 import com.nbu.medicalrecord.repository.DoctorRepository;
 import com.nbu.medicalrecord.repository.PatientRepository;
+import com.nbu.medicalrecord.search.PatientSearchIndex;
 import com.nbu.medicalrecord.service.impl.PatientServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -33,6 +37,12 @@ class PatientServiceTest {
     @Mock
     private DoctorRepository doctorRepository;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private PatientSearchIndex patientSearchIndex;
+
     @InjectMocks
     private PatientServiceImpl patientService;
 
@@ -104,6 +114,22 @@ class PatientServiceTest {
         assertThrows(ValidationException.class, () -> patientService.create(request));
     }
 
+    @Test
+    void update_ShouldEvictCachedDisplayName() {
+        Cache displayNames = mock(Cache.class);
+        patient.setUser(User.builder().id(7L).username("georgi").build());
+        request.setName("Георги Иванов");
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(gp));
+        when(patientRepository.save(any(Patient.class))).thenReturn(patient);
+        when(cacheManager.getCache("displayNames")).thenReturn(displayNames);
+
+        PatientDto.Response result = patientService.update(1L, request);
+
+        assertEquals("Георги Иванов", result.getName());
+        verify(displayNames).evict(7L);
+    }
+
     @Test
     void getById_WithValidId_ShouldReturnPatient() {
         when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
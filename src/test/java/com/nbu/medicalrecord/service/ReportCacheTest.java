@@ -0,0 +1,95 @@
+package com.nbu.medicalrecord.service;
+
+import com.nbu.medicalrecord.config.CacheConfig;
+import com.nbu.medicalrecord.dto.DoctorDto;
+import com.nbu.medicalrecord.dto.ReportDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Concurrent identical report requests share one query; different arguments and writes do not reuse a result.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:report-cache;DB_CLOSE_DELAY=-1")
+class ReportCacheTest {
+
+    private static final int CALLERS = 16;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DiagnosisService diagnosisService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.REPORTS).clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void concurrentIdenticalRequests_ShouldRunOneQuery() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<ReportDto.DoctorExaminationCount>>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return doctorService.getExaminationCountPerDoctor();
+                }));
+            }
+            start.countDown();
+
+            List<ReportDto.DoctorExaminationCount> first = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<List<ReportDto.DoctorExaminationCount>> result : results) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void write_ShouldEvictReports() {
+        doctorService.getPatientCountPerGp();
+        diagnosisService.getFrequencyRollup(ReportDto.RollupLevel.CHAPTER, null, null);
+        diagnosisService.getFrequencyRollup(ReportDto.RollupLevel.CATEGORY, null, null);
+        doctorService.getPatientCountPerGp();
+        assertEquals(3, statistics.getQueryExecutionCount());
+
+        doctorService.create(DoctorDto.Request.builder()
+                .uin("RPT-" + System.nanoTime() % 1_000_000_000L)
+                .name("Д-р Отчетов")
+                .isGp(true)
+                .build());
+        statistics.clear();
+
+        List<ReportDto.DoctorPatientCount> counts = doctorService.getPatientCountPerGp();
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals(1, counts.stream().filter(count -> "Д-р Отчетов".equals(count.getDoctor().getName())).count());
+    }
+}
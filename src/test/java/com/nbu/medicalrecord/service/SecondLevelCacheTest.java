@@ -0,0 +1,95 @@
+package com.nbu.medicalrecord.service;
+
+import com.nbu.medicalrecord.entity.Diagnosis;
+import com.nbu.medicalrecord.entity.Doctor;
+import com.nbu.medicalrecord.entity.Specialty;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reference entities are served from the second-level cache once loaded, and updates replace the cached copy.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Long doctorId;
+    private Long diagnosisId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = String.valueOf(System.nanoTime());
+        inTransaction(entityManager -> {
+            Specialty specialty = Specialty.builder().name("Кеширана специалност " + suffix).build();
+            entityManager.persist(specialty);
+            Doctor doctor = Doctor.builder()
+                    .uin("L2-" + suffix)
+                    .name("Д-р Кеширан")
+                    .isGp(false)
+                    .specialties(Set.of(specialty))
+                    .build();
+            entityManager.persist(doctor);
+            Diagnosis diagnosis = Diagnosis.builder().code("L2." + suffix).name("Кеширана диагноза").build();
+            entityManager.persist(diagnosis);
+            doctorId = doctor.getId();
+            diagnosisId = diagnosis.getId();
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void find_ShouldHitCacheAfterFirstLoad() {
+        inTransaction(entityManager -> entityManager.find(Doctor.class, doctorId).getSpecialties().size());
+
+        statistics.clear();
+        inTransaction(entityManager -> {
+            Doctor doctor = entityManager.find(Doctor.class, doctorId);
+            assertEquals(1, doctor.getSpecialties().size());
+            entityManager.find(Diagnosis.class, diagnosisId);
+        });
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("doctors").getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics("doctorSpecialties").getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics("specialties").getHitCount() > 0);
+        assertEquals(1, statistics.getDomainDataRegionStatistics("diagnoses").getMissCount());
+    }
+
+    @Test
+    void update_ShouldReplaceCachedEntity() {
+        inTransaction(entityManager -> entityManager.find(Diagnosis.class, diagnosisId));
+        inTransaction(entityManager -> entityManager.find(Diagnosis.class, diagnosisId).setName("Променена диагноза"));
+
+        statistics.clear();
+        inTransaction(entityManager ->
+                assertEquals("Променена диагноза", entityManager.find(Diagnosis.class, diagnosisId).getName()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private void inTransaction(Consumer<EntityManager> action) {
+        transactionTemplate.executeWithoutResult(status -> action.accept(entityManager));
+    }
+}
@@ -0,0 +1,79 @@
+package com.nbu.medicalrecord.service;
+
+import com.nbu.medicalrecord.repository.CounterUpserts;
+import com.nbu.medicalrecord.repository.DiagnosisCounterRepository;
+import com.nbu.medicalrecord.repository.DoctorCounterRepository;
+import com.nbu.medicalrecord.repository.SickLeaveMonthlyTotalRepository;
+import com.nbu.medicalrecord.service.impl.StatisticsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsServiceTest {
+
+    @Mock
+    private DoctorCounterRepository doctorCounterRepository;
+
+    @Mock
+    private DiagnosisCounterRepository diagnosisCounterRepository;
+
+    @Mock
+    private SickLeaveMonthlyTotalRepository sickLeaveMonthlyTotalRepository;
+
+    @Mock
+    private CounterUpserts counterUpserts;
+
+    @InjectMocks
+    private StatisticsServiceImpl statisticsService;
+
+    @Test
+    void adjustDoctorCounters_ShouldUpsertDeltas() {
+        statisticsService.adjustDoctorCounters(1L, 1, 0);
+
+        verify(counterUpserts).addToDoctor(1L, 1, 0);
+    }
+
+    @Test
+    void adjustDoctorCounters_WithZeroDelta_ShouldDoNothing() {
+        statisticsService.adjustDoctorCounters(1L, 0, 0);
+
+        verifyNoInteractions(counterUpserts);
+    }
+
+    @Test
+    void adjustDiagnosisCounter_WithoutDiagnosis_ShouldDoNothing() {
+        statisticsService.adjustDiagnosisCounter(null, 1);
+
+        verifyNoInteractions(counterUpserts);
+    }
+
+    @Test
+    void adjustSickLeaveMonth_ShouldUpsertStartMonth() {
+        statisticsService.adjustSickLeaveMonth(LocalDate.of(2024, 3, 15), 1, 5);
+
+        verify(counterUpserts).addToSickLeaveMonth(2024, 3, 1, 5);
+    }
+
+    @Test
+    void rebuild_ShouldEmptyEachTableBeforeRefillingIt() {
+        statisticsService.rebuild();
+
+        InOrder inOrder = inOrder(doctorCounterRepository, diagnosisCounterRepository, sickLeaveMonthlyTotalRepository);
+        inOrder.verify(doctorCounterRepository).deleteAllInBatch();
+        inOrder.verify(doctorCounterRepository).insertFromExaminations();
+        inOrder.verify(diagnosisCounterRepository).deleteAllInBatch();
+        inOrder.verify(diagnosisCounterRepository).insertFromExaminations();
+        inOrder.verify(sickLeaveMonthlyTotalRepository).deleteAllInBatch();
+        inOrder.verify(sickLeaveMonthlyTotalRepository).insertFromSickLeaves();
+        verify(doctorCounterRepository, never()).saveAll(any());
+    }
+}